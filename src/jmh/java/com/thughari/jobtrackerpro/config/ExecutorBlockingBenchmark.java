@@ -0,0 +1,143 @@
+package com.thughari.jobtrackerpro.config;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform thread pools vs virtual threads under a burst of {@value #BURST} blocking tasks, timed until the
+ * last one finishes. Latencies are simulated: a DB call holds one of {@value #DB_POOL_SIZE} connections (the
+ * Hikari default) for 5 ms, an R2 upload blocks for 80 ms and an SMTP send for 150 ms. Tasks the executor
+ * turns away are reported as the {@code rejected} counter rather than timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutorBlockingBenchmark {
+
+	private static final int DB_POOL_SIZE = 10;
+	private static final int BURST = 2_000;
+
+	@Param({ "dashboard", "avatarUpload", "passwordReset" })
+	private String workload;
+
+	@Param({ "pool-4-10-100", "platform-200", "virtual-32", "virtual-256", "virtual-unbounded" })
+	private String executor;
+
+	private final Semaphore connections = new Semaphore(DB_POOL_SIZE, true);
+	private Runnable task;
+	private Executor target;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Rejections {
+
+		public int rejected;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			rejected = 0;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		task = switch (workload) {
+			case "dashboard" -> () -> { db(); db(); db(); };
+			case "avatarUpload" -> () -> { db(); sleep(80); };
+			case "passwordReset" -> () -> { db(); sleep(150); };
+			default -> throw new IllegalArgumentException(workload);
+		};
+		target = switch (executor) {
+			// the former dashboard executor in platform-thread mode
+			case "pool-4-10-100" -> platformPool(4, 10, 100);
+			// as many threads as Tomcat's default pool
+			case "platform-200" -> platformPool(200, 200, Integer.MAX_VALUE);
+			case "virtual-32" -> virtual(32);
+			case "virtual-256" -> virtual(256);
+			case "virtual-unbounded" -> virtual(SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY);
+			default -> throw new IllegalArgumentException(executor);
+		};
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		if (target instanceof ThreadPoolTaskExecutor pool) {
+			pool.shutdown();
+		} else if (target instanceof SimpleAsyncTaskExecutor simple) {
+			simple.close();
+		}
+	}
+
+	@Benchmark
+	public void burst(Rejections rejections) throws InterruptedException {
+		CountDownLatch finished = new CountDownLatch(BURST);
+		for (int i = 0; i < BURST; i++) {
+			try {
+				target.execute(() -> {
+					task.run();
+					finished.countDown();
+				});
+			} catch (TaskRejectedException e) {
+				rejections.rejected++;
+				finished.countDown();
+			}
+		}
+		finished.await(5, TimeUnit.MINUTES);
+	}
+
+	private static Executor platformPool(int core, int max, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(core);
+		executor.setMaxPoolSize(max);
+		executor.setQueueCapacity(queueCapacity);
+		executor.initialize();
+		return executor;
+	}
+
+	private static Executor virtual(int limit) {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setVirtualThreads(true);
+		executor.setConcurrencyLimit(limit);
+		return executor;
+	}
+
+	private void db() {
+		connections.acquireUninterruptibly();
+		try {
+			sleep(5);
+		} finally {
+			connections.release();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
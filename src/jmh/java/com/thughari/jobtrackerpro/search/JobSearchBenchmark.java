@@ -0,0 +1,97 @@
+package com.thughari.jobtrackerpro.search;
+
+import com.thughari.jobtrackerpro.entity.Job;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process search index over synthetic per-user corpora: building it, and query latency as a
+ * distribution (p99 is the figure to hold against the default {@code app.search.latency-budget-ms} of 50).
+ * Queries rotate through prefixes, multi-term and single-letter searches.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobSearchBenchmark {
+
+	private static final String[] COMPANIES = { "Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne",
+			"Wonka", "Cyberdyne", "Soylent", "Tyrell", "Aperture", "Massive", "Dynamic", "Vandelay" };
+	private static final String[] ROLES = { "Backend Engineer", "Frontend Developer", "Data Scientist",
+			"Platform Engineer", "Site Reliability Engineer", "Product Manager", "QA Analyst", "Mobile Developer" };
+	private static final String[] CITIES = { "Berlin", "London", "Remote", "Bangalore", "Hyderabad", "New York",
+			"Toronto", "Amsterdam" };
+	private static final String[] WORDS = ("recruiter called about the role salary negotiation follow up next week "
+			+ "team lead mentioned kubernetes java spring postgres react typescript onsite interview panel "
+			+ "take home assignment offer letter benefits relocation visa sponsorship hybrid schedule").split(" ");
+	private static final String[] QUERIES = { "acme", "back", "engineer berlin", "kube", "offer", "data sci", "r",
+			"wonka 42", "visa sponsor remote", "platform eng", "glo" };
+
+	@Param({ "1000", "10000", "50000" })
+	private int size;
+
+	private List<Job> jobs;
+	private InvertedIndex index;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		jobs = corpus(size, new Random(42));
+		index = InvertedIndex.build(jobs);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public InvertedIndex build() {
+		return InvertedIndex.build(jobs);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	public List<UUID> search() {
+		String query = QUERIES[next++ % QUERIES.length];
+		return index.search(SearchQuery.parse(query), 20);
+	}
+
+	private static List<Job> corpus(int size, Random random) {
+		List<Job> jobs = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Job job = new Job();
+			job.setId(UUID.randomUUID());
+			job.setCompany(pick(COMPANIES, random) + " " + i);
+			job.setRole(pick(ROLES, random));
+			job.setLocation(pick(CITIES, random));
+			StringBuilder notes = new StringBuilder();
+			int words = random.nextInt(400);
+			for (int w = 0; w < words; w++) {
+				notes.append(pick(WORDS, random)).append(' ');
+			}
+			job.setNotes(notes.toString());
+			job.setDate(LocalDate.now().minusDays(random.nextInt(720)));
+			jobs.add(job);
+		}
+		return jobs;
+	}
+
+	private static String pick(String[] values, Random random) {
+		return values[random.nextInt(values.length)];
+	}
+}
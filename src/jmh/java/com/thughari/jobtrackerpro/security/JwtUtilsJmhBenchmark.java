@@ -0,0 +1,58 @@
+package com.thughari.jobtrackerpro.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the three ways a request token is checked: a full signature check and parse,
+ * {@code validateToken}, and a hit in the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsJmhBenchmark {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private JwtUtils jwtUtils;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtils = new JwtUtils(SECRET, 3_600_000, 10_000);
+		token = jwtUtils.generateToken("bench@example.com");
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtils.generateToken("bench@example.com");
+	}
+
+	@Benchmark
+	public String parseAndVerify() {
+		return jwtUtils.getEmailFromToken(token);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtUtils.validateToken(token);
+	}
+
+	@Benchmark
+	public String verifiedCacheHit() {
+		return jwtUtils.getVerifiedEmail(token);
+	}
+}
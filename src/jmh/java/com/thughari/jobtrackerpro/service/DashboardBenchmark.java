@@ -0,0 +1,110 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.ChartData;
+import com.thughari.jobtrackerpro.dto.DashboardGranularity;
+import com.thughari.jobtrackerpro.dto.DashboardResponse;
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
+import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard computation. {@code inMemoryScan} is the original {@code getDashboardData}, which
+ * loaded every job and made several stream passes per request; it is kept as the baseline.
+ * Requests are now served from the rollup row ({@code dashboardFromRollup}), and the rollup is
+ * built once per rebuild or import ({@code rollupFromJobs}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+	private static final String EMAIL = "bench@example.com";
+
+	@Param({ "10", "1000", "100000" })
+	private int size;
+
+	private List<Job> jobs;
+	private DashboardService dashboardService;
+
+	@Setup
+	public void setUp() {
+		jobs = JobFixtures.jobs(size);
+		DashboardRollup rollup = rollupFromJobs();
+		// no repositories needed: the all-time monthly dashboard is read from the rollup row only
+		DashboardRollupService rollupService = new DashboardRollupService(null, null, null) {
+			@Override
+			public DashboardRollup get(String email) {
+				return rollup;
+			}
+		};
+		dashboardService = new DashboardService(rollupService, null);
+	}
+
+	@Benchmark
+	public DashboardResponse dashboardFromRollup() {
+		return dashboardService.getDashboard(EMAIL, null, null, DashboardGranularity.MONTH);
+	}
+
+	@Benchmark
+	public DashboardRollup rollupFromJobs() {
+		DashboardRollup rollup = new DashboardRollup(EMAIL);
+		for (Job job : jobs) {
+			rollup.add(job.getStatus(), job.getStage(), job.getDate());
+		}
+		return rollup;
+	}
+
+	@Benchmark
+	public DashboardResponse inMemoryScan() {
+		DashboardResponse response = new DashboardResponse();
+		long total = jobs.size();
+		long active = jobs.stream().filter(j -> j.getStatus() != JobStatus.REJECTED && j.getStatus() != JobStatus.OFFER_RECEIVED).count();
+		long interviews = jobs.stream().filter(j -> j.getStatus() == JobStatus.INTERVIEW_SCHEDULED || j.getStage() >= 3).count();
+		long offers = jobs.stream().filter(j -> j.getStatus() == JobStatus.OFFER_RECEIVED).count();
+		response.setStats(new DashboardStatsDTO(total, active, interviews, offers));
+
+		Map<String, Long> statusMap = jobs.stream()
+				.collect(Collectors.groupingBy(j -> j.getStatus().getLabel(), Collectors.counting()));
+		response.setStatusChart(toChartData(statusMap));
+
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yy");
+		Map<String, Long> monthMap = jobs.stream()
+				.sorted(Comparator.comparing(Job::getDate))
+				.collect(Collectors.groupingBy(job -> job.getDate().format(formatter), LinkedHashMap::new, Collectors.counting()));
+		response.setMonthlyChart(toChartData(monthMap));
+
+		long interviewCount = jobs.stream().filter(j -> j.getStage() >= 3).count();
+		response.setInterviewChart(List.of(
+				new ChartData("Interviewed", interviewCount),
+				new ChartData("Not Interviewed", total > 0 ? total - interviewCount : 0)));
+		return response;
+	}
+
+	private static List<ChartData> toChartData(Map<String, Long> counts) {
+		return counts.entrySet().stream().map(e -> new ChartData(e.getKey(), e.getValue())).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,109 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The original {@code DashboardService.getStats}, which counted active, interview and offer jobs as
+ * three {@code CompletableFuture}s on a dedicated executor, against one sequential pass over the
+ * same list, so the cost of the thread hand-off is on record before anyone reintroduces it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardFanOutBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int size;
+
+	private List<Job> jobs;
+	private ThreadPoolTaskExecutor platformPool;
+	private SimpleAsyncTaskExecutor virtualThreads;
+
+	@Setup
+	public void setUp() {
+		jobs = JobFixtures.jobs(size);
+		// the settings the removed dashboard executor had in each thread mode
+		platformPool = new ThreadPoolTaskExecutor();
+		platformPool.setCorePoolSize(4);
+		platformPool.setMaxPoolSize(10);
+		platformPool.setQueueCapacity(100);
+		platformPool.initialize();
+		virtualThreads = new SimpleAsyncTaskExecutor();
+		virtualThreads.setVirtualThreads(true);
+		virtualThreads.setConcurrencyLimit(32);
+	}
+
+	@TearDown
+	public void tearDown() {
+		platformPool.shutdown();
+		virtualThreads.close();
+	}
+
+	@Benchmark
+	public DashboardStatsDTO fanOutPlatformPool() {
+		return fanOut(platformPool);
+	}
+
+	@Benchmark
+	public DashboardStatsDTO fanOutVirtualThreads() {
+		return fanOut(virtualThreads);
+	}
+
+	@Benchmark
+	public DashboardStatsDTO sequentialSinglePass() {
+		long active = 0;
+		long interviews = 0;
+		long offers = 0;
+		for (Job job : jobs) {
+			if (job.getStatus().isActive()) {
+				active++;
+			}
+			if (job.getStatus() == JobStatus.INTERVIEW_SCHEDULED || job.getStage() >= 3) {
+				interviews++;
+			}
+			if (job.getStatus() == JobStatus.OFFER_RECEIVED) {
+				offers++;
+			}
+		}
+		return new DashboardStatsDTO(jobs.size(), active, interviews, offers);
+	}
+
+	private DashboardStatsDTO fanOut(Executor executor) {
+		CompletableFuture<Long> active = CompletableFuture.supplyAsync(() ->
+				jobs.stream().filter(j -> j.getStatus() != JobStatus.REJECTED && j.getStatus() != JobStatus.OFFER_RECEIVED).count(),
+				executor);
+		CompletableFuture<Long> interviews = CompletableFuture.supplyAsync(() ->
+				jobs.stream().filter(j -> j.getStatus() == JobStatus.INTERVIEW_SCHEDULED || j.getStage() >= 3).count(),
+				executor);
+		CompletableFuture<Long> offers = CompletableFuture.supplyAsync(() ->
+				jobs.stream().filter(j -> j.getStatus() == JobStatus.OFFER_RECEIVED).count(),
+				executor);
+		CompletableFuture.allOf(active, interviews, offers).join();
+		return new DashboardStatsDTO(jobs.size(), active.join(), interviews.join(), offers.join());
+	}
+}
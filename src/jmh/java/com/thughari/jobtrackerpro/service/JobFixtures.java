@@ -0,0 +1,103 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic jobs for the benchmarks: a fixed seed, a realistic status mix
+ * (mostly applied or rejected) and dates spread over the last three years.
+ */
+final class JobFixtures {
+
+	private static final String[] COMPANIES = { "Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries",
+			"Wayne Enterprises", "Wonka", "Cyberdyne", "Tyrell" };
+	private static final String[] ROLES = { "Backend Engineer", "Java Developer", "Platform Engineer", "SRE",
+			"Data Engineer", "Full Stack Developer" };
+	private static final String[] LOCATIONS = { "Remote", "Berlin", "Bangalore", "London", "New York", "Toronto" };
+	private static final String[] WORDS = { "recruiter", "called", "about", "the", "role", "team", "uses", "Java",
+			"Spring", "Kafka", "Postgres", "on", "call", "rotation", "salary", "range", "negotiable", "remote",
+			"friendly", "interview", "with", "hiring", "manager", "next", "week", "system", "design", "round",
+			"take", "home", "assignment", "due", "Friday", "follow", "up", "after", "referral", "from", "a",
+			"former", "colleague", "benefits", "include", "equity", "and", "learning", "budget", "asked", "for",
+			"feedback", "offer", "deadline", "is", "end", "of", "month" };
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+
+	private JobFixtures() {
+	}
+
+	static List<Job> jobs(int size) {
+		Random random = new Random(42);
+		List<Job> jobs = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Job job = new Job();
+			job.setId(new UUID(random.nextLong(), random.nextLong()));
+			job.setCompany(COMPANIES[random.nextInt(COMPANIES.length)]);
+			job.setRole(ROLES[random.nextInt(ROLES.length)]);
+			job.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+			job.setDate(TODAY.minusDays(random.nextInt(3 * 365)));
+			job.setStatus(status(random.nextInt(100)));
+			job.setStage(1 + random.nextInt(5));
+			job.setStageStatus(random.nextBoolean() ? "Pending" : "Passed");
+			job.setSalaryMin(50_000d + random.nextInt(50) * 1_000);
+			job.setSalaryMax(job.getSalaryMin() + 20_000);
+			job.setUrl("https://jobs.example.com/" + i);
+			job.setNotes(i % 3 == 0 ? "Referred by a former colleague, follow up after the first round" : null);
+			jobs.add(job);
+		}
+		return jobs;
+	}
+
+	static List<JobDTO> dtos(int size) {
+		return jobs(size).stream().map(JobService::convertToDto).toList();
+	}
+
+	/**
+	 * Like {@link #dtos(int)}, but with text fields sized like real ones: tracking-laden posting URLs of a
+	 * few hundred characters and free-text notes on most jobs, up to the 4 KB limit.
+	 */
+	static List<JobDTO> dtosWithText(int size) {
+		Random random = new Random(7);
+		List<JobDTO> dtos = new ArrayList<>(dtos(size));
+		for (JobDTO dto : dtos) {
+			dto.setUrl("https://careers." + dto.getCompany().toLowerCase().replace(' ', '-') + ".com/jobs/"
+					+ Long.toHexString(random.nextLong()) + "?gh_jid=" + random.nextInt(10_000_000)
+					+ "&utm_source=linkedin&utm_medium=jobs&utm_campaign=" + words(random, 2 + random.nextInt(30), '-')
+					+ "&ref=" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+			// log-normal note lengths: mostly a line or two, occasionally a page
+			int noteLength = (int) Math.min(4096, Math.exp(5 + 1.2 * random.nextGaussian()));
+			dto.setNotes(random.nextInt(10) < 7 ? words(random, noteLength, ' ') : null);
+		}
+		return dtos;
+	}
+
+	private static String words(Random random, int length, char separator) {
+		StringBuilder text = new StringBuilder(length + 16);
+		while (text.length() < length) {
+			if (!text.isEmpty()) {
+				text.append(separator);
+			}
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.substring(0, Math.min(text.length(), length));
+	}
+
+	private static JobStatus status(int percentile) {
+		if (percentile < 55) {
+			return JobStatus.APPLIED;
+		}
+		if (percentile < 70) {
+			return JobStatus.INTERVIEW_SCHEDULED;
+		}
+		if (percentile < 75) {
+			return JobStatus.OFFER_RECEIVED;
+		}
+		return JobStatus.REJECTED;
+	}
+}
@@ -0,0 +1,77 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobDataResponse;
+import com.thughari.jobtrackerpro.util.CborWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding a job list response as JSON or CBOR, with and without gzip (what Tomcat applies above
+ * {@code server.compression.min-response-size}), for jobs with realistic URLs and notes. The wire size
+ * of each combination is printed at the start of its trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobListEncodingBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int size;
+
+	@Param({ "json", "cbor" })
+	private String format;
+
+	@Param({ "identity", "gzip" })
+	private String encoding;
+
+	private final JsonMapper jsonMapper = new JsonMapper();
+	private JobDataResponse response;
+
+	@Setup
+	public void setUp() throws IOException {
+		response = new JobDataResponse(JobFixtures.dtosWithText(size), new DashboardStatsDTO(size, size / 2, size / 5, 1), null);
+		System.out.printf("%n%s/%s, %d jobs: %d bytes%n", format, encoding, size, encode().length);
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+		OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(bytes, 8192) : bytes;
+		if ("cbor".equals(format)) {
+			// as CborHttpMessageConverter does
+			TokenBuffer tokens = jsonMapper.writeValueIntoBuffer(response);
+			OutputStream buffered = new BufferedOutputStream(out, 8192);
+			try (JsonParser parser = tokens.asParser()) {
+				new CborWriter(buffered).writeTokens(parser);
+			}
+			buffered.close();
+		} else {
+			jsonMapper.writeValue(out, response);
+		}
+		return bytes.toByteArray();
+	}
+}
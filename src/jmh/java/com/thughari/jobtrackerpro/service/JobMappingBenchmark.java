@@ -0,0 +1,58 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.entity.Job;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping as done for every job in a list response or an import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobMappingBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int size;
+
+	private List<Job> jobs;
+	private List<JobDTO> dtos;
+
+	@Setup
+	public void setUp() {
+		jobs = JobFixtures.jobs(size);
+		dtos = JobFixtures.dtos(size);
+	}
+
+	@Benchmark
+	public void convertToDto(Blackhole bh) {
+		for (Job job : jobs) {
+			bh.consume(JobService.convertToDto(job));
+		}
+	}
+
+	@Benchmark
+	public void convertToEntity(Blackhole bh) {
+		for (JobDTO dto : dtos) {
+			bh.consume(JobService.convertToEntity(dto));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.thughari.jobtrackerpro.loadtest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Deterministic synthetic data for the load test. Every value is drawn from the {@link Random} passed in,
+ * so a fixed seed yields the same users and jobs on every run. Jobs per user follow a log-normal
+ * distribution (most users track a few dozen applications, a handful track hundreds), statuses follow the
+ * same mix as the JMH fixtures and dates lean towards the last few weeks.
+ */
+final class DataGenerator {
+
+	static final String[] STATUSES = { "Applied", "Interview Scheduled", "Offer Received", "Rejected" };
+
+	private static final String[] COMPANIES = { "Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries",
+			"Wayne Enterprises", "Wonka", "Cyberdyne", "Tyrell", "Soylent", "Vandelay Industries", "Massive Dynamic",
+			"Pied Piper", "Aperture Science" };
+	private static final String[] ROLES = { "Backend Engineer", "Java Developer", "Platform Engineer", "SRE",
+			"Data Engineer", "Full Stack Developer", "Engineering Manager", "QA Engineer" };
+	private static final String[] LOCATIONS = { "Remote", "Berlin", "Bangalore", "London", "New York", "Toronto",
+			"Hyderabad", "Amsterdam" };
+	private static final String[] NOTES = { "Referred by a former colleague, follow up after the first round",
+			"Recruiter reached out on LinkedIn", "Take-home assignment due next week",
+			"Asked about hybrid options; three days on site", "Salary range not disclosed yet" };
+
+	private DataGenerator() {
+	}
+
+	static String email(int user) {
+		return "loadtest-" + user + "@example.test";
+	}
+
+	/** Log-normal with the given mean, capped at 20x the mean. */
+	static int jobCount(Random random, int mean) {
+		if (mean <= 0) {
+			return 0;
+		}
+		double sigma = 1.0;
+		double mu = Math.log(mean) - sigma * sigma / 2;
+		long count = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+		return (int) Math.max(1, Math.min(20L * mean, count));
+	}
+
+	static Map<String, Object> job(Random random, LocalDate today) {
+		Map<String, Object> job = new LinkedHashMap<>();
+		job.put("company", pick(random, COMPANIES));
+		job.put("role", pick(random, ROLES));
+		job.put("location", pick(random, LOCATIONS));
+		// squaring skews the spread towards recent applications
+		double age = random.nextDouble();
+		job.put("date", today.minusDays((long) (age * age * 365)).toString());
+		job.put("status", status(random.nextInt(100)));
+		job.put("stage", 1 + random.nextInt(5));
+		job.put("stageStatus", random.nextBoolean() ? "Pending" : "Passed");
+		int salaryMin = 50_000 + random.nextInt(50) * 1_000;
+		job.put("salaryMin", salaryMin);
+		job.put("salaryMax", salaryMin + 20_000);
+		job.put("url", "https://jobs.example.com/" + Long.toHexString(random.nextLong()));
+		job.put("notes", random.nextInt(3) == 0 ? pick(random, NOTES) : null);
+		return job;
+	}
+
+	/** A 512px PNG with random shapes, so every upload hashes differently and takes the full resize path. */
+	static byte[] avatar(Random random) {
+		BufferedImage image = new BufferedImage(512, 512, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+		graphics.fillRect(0, 0, 512, 512);
+		for (int i = 0; i < 12; i++) {
+			graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+			graphics.fillOval(random.nextInt(448), random.nextInt(448), 16 + random.nextInt(200), 16 + random.nextInt(200));
+		}
+		graphics.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			ImageIO.write(image, "png", out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	static String status(int percentile) {
+		if (percentile < 55) {
+			return STATUSES[0];
+		}
+		if (percentile < 70) {
+			return STATUSES[1];
+		}
+		if (percentile < 75) {
+			return STATUSES[2];
+		}
+		return STATUSES[3];
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
@@ -0,0 +1,85 @@
+package com.thughari.jobtrackerpro.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every latency sample per endpoint, so percentiles are exact rather than estimated from buckets.
+ * A run records at most a few hundred thousand samples, which is a few MB.
+ */
+final class LatencyRecorder {
+
+	private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+	void record(String endpoint, long nanos, boolean error) {
+		endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+	}
+
+	/** Per-endpoint results plus a {@code TOTAL} row, keyed by endpoint name. */
+	Map<String, Map<String, Object>> summarize(double seconds) {
+		Map<String, Map<String, Object>> summary = new TreeMap<>();
+		Samples total = new Samples();
+		endpoints.forEach((endpoint, samples) -> {
+			summary.put(endpoint, samples.summarize(seconds));
+			total.addAll(samples);
+		});
+		summary.put("TOTAL", total.summarize(seconds));
+		return summary;
+	}
+
+	private static final class Samples {
+
+		private long[] nanos = new long[1024];
+		private int count;
+		private int errors;
+
+		synchronized void add(long sample, boolean error) {
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = sample;
+			if (error) {
+				errors++;
+			}
+		}
+
+		synchronized void addAll(Samples other) {
+			synchronized (other) {
+				for (int i = 0; i < other.count; i++) {
+					add(other.nanos[i], false);
+				}
+				errors += other.errors;
+			}
+		}
+
+		synchronized Map<String, Object> summarize(double seconds) {
+			long[] sorted = Arrays.copyOf(nanos, count);
+			Arrays.sort(sorted);
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("requests", count);
+			result.put("errors", errors);
+			result.put("throughput", round(count / seconds));
+			result.put("p50Ms", millis(sorted, 0.50));
+			result.put("p95Ms", millis(sorted, 0.95));
+			result.put("p99Ms", millis(sorted, 0.99));
+			result.put("maxMs", count == 0 ? 0 : round(sorted[count - 1] / 1e6));
+			return result;
+		}
+
+		// nearest-rank percentile
+		private static double millis(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int rank = (int) Math.ceil(percentile * sorted.length);
+			return round(sorted[Math.max(0, rank - 1)] / 1e6);
+		}
+
+		private static double round(double value) {
+			return Math.round(value * 100) / 100.0;
+		}
+	}
+}
@@ -0,0 +1,390 @@
+package com.thughari.jobtrackerpro.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-model load test against a running instance (see {@code docker-compose.loadtest.yml}).
+ *
+ * <ol>
+ * <li>Seeds {@code users} accounts and imports a deterministic set of jobs for each one that has none.</li>
+ * <li>Starts {@code vus} virtual users, each logged in as one of the accounts, and has every one of them
+ * perform {@code warmup} untimed and then {@code iterations} timed actions drawn from a weighted mix of
+ * login, list, search, stats, dashboard, create, update, delete and avatar upload.</li>
+ * <li>Deletes the jobs it created, so the next run starts from the same data, and reports throughput and
+ * p50/p95/p99 latency per endpoint; results go to {@code out} and are compared with {@code baseline}.</li>
+ * </ol>
+ *
+ * Every random choice comes from a generator seeded with {@code seed} (per user and per virtual user), so
+ * two runs with the same options send the same requests. Arguments are {@code --name=value}; see
+ * {@link Options} for names and defaults. The target must run with {@code APP_RATE_LIMIT_ENABLED=false}.
+ */
+public final class LoadTest {
+
+	private static final String PASSWORD = "LoadTest-123";
+
+	private record Action(String endpoint, int weight) {
+	}
+
+	// weights in percent; deletes only remove jobs created during the run, so the data set stays put
+	private static final List<Action> MIX = List.of(
+			new Action("GET /api/jobs", 25),
+			new Action("GET /api/jobs/dashboard", 15),
+			new Action("GET /api/jobs/stats", 10),
+			new Action("GET /api/jobs/search", 8),
+			new Action("PUT /api/jobs/{id}", 12),
+			new Action("POST /api/jobs", 10),
+			new Action("DELETE /api/jobs/{id}", 10),
+			new Action("POST /api/auth/login", 5),
+			new Action("PUT /api/auth/profile", 5));
+
+	private static final String[] SEARCH_TERMS = { "java", "remote", "acme", "engineer", "berl", "platform", "data" };
+
+	private final Options options;
+	private final HttpClient client;
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final LatencyRecorder recorder = new LatencyRecorder();
+	private final LocalDate today = LocalDate.now();
+
+	private LoadTest(Options options) {
+		this.options = options;
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	public static void main(String[] args) throws Exception {
+		Options options = Options.parse(args);
+		System.out.println("Load test: " + options);
+		new LoadTest(options).run();
+	}
+
+	private void run() throws Exception {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long seedStart = System.nanoTime();
+			forEach(executor, options.users, this::seedUser);
+			System.out.printf("Seeded %d users in %.1f s%n", options.users, (System.nanoTime() - seedStart) / 1e9);
+
+			List<VirtualUser> vus = new ArrayList<>();
+			for (int i = 0; i < options.vus; i++) {
+				vus.add(new VirtualUser(i));
+			}
+			forEach(executor, vus.size(), i -> vus.get(i).start());
+
+			forEach(executor, vus.size(), i -> vus.get(i).perform(options.warmup, false));
+			long start = System.nanoTime();
+			forEach(executor, vus.size(), i -> vus.get(i).perform(options.iterations, true));
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			forEach(executor, vus.size(), i -> vus.get(i).cleanUp());
+			report(seconds);
+		}
+	}
+
+	private void seedUser(int user) throws IOException, InterruptedException {
+		String token = authenticate(DataGenerator.email(user), false);
+		HttpResponse<String> page = send("seed", get("/api/jobs?size=1", token), false);
+		if (!jsonMapper.readTree(page.body()).path("jobs").isEmpty()) {
+			return;
+		}
+		Random random = new Random(options.seed * 31 + user);
+		int count = DataGenerator.jobCount(random, options.jobsMean);
+		StringBuilder ndjson = new StringBuilder(count * 300);
+		for (int i = 0; i < count; i++) {
+			ndjson.append(jsonMapper.writeValueAsString(DataGenerator.job(random, today))).append('\n');
+		}
+		HttpResponse<String> imported = send("seed", request("/api/jobs/import", token)
+				.header("Content-Type", "application/x-ndjson")
+				.POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+				.build(), false);
+		if (imported.statusCode() != 200) {
+			throw new IllegalStateException("Import failed for " + DataGenerator.email(user) + ": " + imported.body());
+		}
+	}
+
+	private final class VirtualUser {
+
+		private final Random random;
+		private final String email;
+		private String token;
+		private List<String> seededJobs;
+		private final List<String> createdJobs = new ArrayList<>();
+
+		VirtualUser(int index) {
+			this.random = new Random(options.seed * 7919 + index);
+			this.email = DataGenerator.email(index % options.users);
+		}
+
+		void start() throws IOException, InterruptedException {
+			token = authenticate(email, true);
+			HttpResponse<String> all = send("start", get("/api/jobs?all=true", token), false);
+			seededJobs = new ArrayList<>();
+			for (JsonNode job : jsonMapper.readTree(all.body())) {
+				seededJobs.add(job.path("id").asString());
+			}
+		}
+
+		void perform(int actions, boolean timed) throws IOException, InterruptedException {
+			for (int i = 0; i < actions; i++) {
+				Action action = pick();
+				HttpRequest request = build(action);
+				if (request == null) {
+					continue;
+				}
+				HttpResponse<String> response = send(action.endpoint(), request, timed);
+				afterResponse(action, response);
+				if (options.thinkMs > 0) {
+					Thread.sleep(options.thinkMs);
+				}
+			}
+		}
+
+		void cleanUp() throws IOException, InterruptedException {
+			for (String id : createdJobs) {
+				send("cleanup", request("/api/jobs/" + id, token).DELETE().build(), false);
+			}
+			createdJobs.clear();
+		}
+
+		private Action pick() {
+			int roll = random.nextInt(100);
+			for (Action action : MIX) {
+				roll -= action.weight();
+				if (roll < 0) {
+					return action;
+				}
+			}
+			return MIX.get(0);
+		}
+
+		private HttpRequest build(Action action) throws IOException {
+			return switch (action.endpoint()) {
+				case "GET /api/jobs" -> get("/api/jobs?size=" + (random.nextBoolean() ? 50 : 200), token);
+				case "GET /api/jobs/dashboard" -> get("/api/jobs/dashboard", token);
+				case "GET /api/jobs/stats" -> get("/api/jobs/stats", token);
+				case "GET /api/jobs/search" -> get("/api/jobs/search?q="
+						+ URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8), token);
+				case "POST /api/jobs" -> request("/api/jobs", token)
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(DataGenerator.job(random, today))))
+						.build();
+				case "PUT /api/jobs/{id}" -> {
+					if (seededJobs.isEmpty()) {
+						yield null;
+					}
+					Map<String, Object> job = DataGenerator.job(random, today);
+					yield request("/api/jobs/" + seededJobs.get(random.nextInt(seededJobs.size())), token)
+							.header("Content-Type", "application/json")
+							.PUT(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(job)))
+							.build();
+				}
+				case "DELETE /api/jobs/{id}" -> createdJobs.isEmpty() ? null
+						: request("/api/jobs/" + createdJobs.remove(random.nextInt(createdJobs.size())), token).DELETE().build();
+				case "POST /api/auth/login" -> loginRequest(email);
+				case "PUT /api/auth/profile" -> profileRequest(DataGenerator.avatar(random));
+				default -> throw new IllegalStateException(action.endpoint());
+			};
+		}
+
+		private void afterResponse(Action action, HttpResponse<String> response) {
+			if (action.endpoint().equals("POST /api/jobs") && response.statusCode() == 200) {
+				createdJobs.add(jsonMapper.readTree(response.body()).path("id").asString());
+			}
+		}
+
+		private HttpRequest profileRequest(byte[] avatar) {
+			String boundary = "loadtest-" + UUID.randomUUID();
+			ByteArrayOutputStream body = new ByteArrayOutputStream(avatar.length + 512);
+			body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"name\"\r\n\r\nLoad Test\r\n"
+					+ "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\n"
+					+ "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			body.writeBytes(avatar);
+			body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+			return request("/api/auth/profile", token)
+					.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+					.PUT(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+					.build();
+		}
+	}
+
+	private String authenticate(String email, boolean loginOnly) throws IOException, InterruptedException {
+		if (!loginOnly) {
+			Map<String, String> signup = Map.of("email", email, "password", PASSWORD, "name", "Load Test");
+			HttpResponse<String> response = send("seed", request("/api/auth/signup", null)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(signup)))
+					.build(), false);
+			if (response.statusCode() == 200) {
+				return jsonMapper.readTree(response.body()).path("token").asString();
+			}
+		}
+		HttpResponse<String> response = send("seed", loginRequest(email), false);
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Login failed for " + email + " (" + response.statusCode() + "): " + response.body());
+		}
+		return jsonMapper.readTree(response.body()).path("token").asString();
+	}
+
+	private HttpRequest loginRequest(String email) {
+		return request("/api/auth/login", null)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD))))
+				.build();
+	}
+
+	private HttpRequest get(String path, String token) {
+		return request(path, token).GET().build();
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+				.timeout(Duration.ofSeconds(30));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private HttpResponse<String> send(String endpoint, HttpRequest request, boolean timed) throws IOException, InterruptedException {
+		if (!timed) {
+			return sendUntimed(request);
+		}
+		long start = System.nanoTime();
+		HttpResponse<String> response;
+		try {
+			response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		} catch (IOException e) {
+			recorder.record(endpoint, System.nanoTime() - start, true);
+			throw e;
+		}
+		recorder.record(endpoint, System.nanoTime() - start, response.statusCode() >= 400);
+		return response;
+	}
+
+	// setup traffic backs off when the server sheds load (hash queue full, rate limited) instead of failing the run
+	private HttpResponse<String> sendUntimed(HttpRequest request) throws IOException, InterruptedException {
+		for (int attempt = 1; ; attempt++) {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			int status = response.statusCode();
+			if ((status != 503 && status != 429) || attempt == 10) {
+				return response;
+			}
+			long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+			Thread.sleep(Math.max(retryAfter * 1000, 250L * attempt));
+		}
+	}
+
+	private void report(double seconds) throws IOException {
+		Map<String, Map<String, Object>> endpoints = recorder.summarize(seconds);
+		JsonNode baseline = options.baseline == null ? null : jsonMapper.readTree(Files.readString(options.baseline));
+
+		System.out.printf("%nMeasured %d actions per virtual user x %d in %.1f s%n", options.iterations, options.vus, seconds);
+		System.out.printf("%-26s %8s %7s %9s %9s %9s %9s %9s%s%n", "endpoint", "requests", "errors", "req/s",
+				"p50 ms", "p95 ms", "p99 ms", "max ms", baseline == null ? "" : "   p95 vs baseline");
+		endpoints.forEach((endpoint, result) -> {
+			String delta = "";
+			if (baseline != null) {
+				double before = baseline.path("endpoints").path(endpoint).path("p95Ms").asDouble(0);
+				double after = ((Number) result.get("p95Ms")).doubleValue();
+				delta = before == 0 ? "   n/a" : String.format("   %+.1f%%", (after - before) / before * 100);
+			}
+			System.out.printf("%-26s %8s %7s %9s %9s %9s %9s %9s%s%n", endpoint, result.get("requests"), result.get("errors"),
+					result.get("throughput"), result.get("p50Ms"), result.get("p95Ms"), result.get("p99Ms"), result.get("maxMs"), delta);
+		});
+
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("timestamp", Instant.now().toString());
+		out.put("options", options.toMap());
+		out.put("durationSeconds", Math.round(seconds * 100) / 100.0);
+		out.put("endpoints", endpoints);
+		if (options.out.getParent() != null) {
+			Files.createDirectories(options.out.getParent());
+		}
+		Files.writeString(options.out, jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(out));
+		System.out.println("\nResults written to " + options.out);
+	}
+
+	private interface IndexedTask {
+		void run(int index) throws Exception;
+	}
+
+	private static void forEach(ExecutorService executor, int count, IndexedTask task) throws Exception {
+		List<Future<?>> futures = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int index = i;
+			futures.add(executor.submit(() -> {
+				task.run(index);
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+
+	private record Options(String baseUrl, int users, int jobsMean, int vus, int warmup, int iterations, long seed,
+			long thinkMs, Path out, Path baseline) {
+
+		static Options parse(String[] args) {
+			Map<String, String> values = new LinkedHashMap<>();
+			for (String arg : args) {
+				if (!arg.startsWith("--") || !arg.contains("=")) {
+					throw new IllegalArgumentException("Arguments look like --name=value, was: " + arg);
+				}
+				values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+			Options options = new Options(
+					values.getOrDefault("base-url", "http://localhost:8080"),
+					Integer.parseInt(values.getOrDefault("users", "50")),
+					Integer.parseInt(values.getOrDefault("jobs-mean", "40")),
+					Integer.parseInt(values.getOrDefault("vus", "20")),
+					Integer.parseInt(values.getOrDefault("warmup", "50")),
+					Integer.parseInt(values.getOrDefault("iterations", "500")),
+					Long.parseLong(values.getOrDefault("seed", "42")),
+					Long.parseLong(values.getOrDefault("think-ms", "0")),
+					Path.of(values.getOrDefault("out", "target/loadtest-result.json")),
+					values.containsKey("baseline") ? Path.of(values.get("baseline")) : null);
+			if (options.users < 1 || options.vus < 1) {
+				throw new IllegalArgumentException("users and vus must be positive");
+			}
+			return options;
+		}
+
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("baseUrl", baseUrl);
+			map.put("users", users);
+			map.put("jobsMean", jobsMean);
+			map.put("vus", vus);
+			map.put("warmup", warmup);
+			map.put("iterations", iterations);
+			map.put("seed", seed);
+			map.put("thinkMs", thinkMs);
+			return map;
+		}
+	}
+}
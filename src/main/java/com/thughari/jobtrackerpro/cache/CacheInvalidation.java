@@ -0,0 +1,31 @@
+package com.thughari.jobtrackerpro.cache;
+
+/**
+ * An eviction that happened on {@code origin} and must be replayed on every other
+ * instance's L1. A {@code null} key means the whole cache was cleared, and a
+ * {@code null} cache name means every cache.
+ */
+public record CacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final char SEPARATOR = '|';
+
+    public static CacheInvalidation everything(String origin) {
+        return new CacheInvalidation(origin, null, null);
+    }
+
+    public String encode() {
+        return origin + SEPARATOR + (cacheName == null ? "" : cacheName) + SEPARATOR + (key == null ? "" : key);
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        int first = payload.indexOf(SEPARATOR);
+        int second = payload.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+        }
+        String cacheName = payload.substring(first + 1, second);
+        String key = payload.substring(second + 1);
+        return new CacheInvalidation(payload.substring(0, first), cacheName.isEmpty() ? null : cacheName,
+                key.isEmpty() ? null : key);
+    }
+}
@@ -0,0 +1,14 @@
+package com.thughari.jobtrackerpro.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel that fans L1 evictions out to every instance of the service.
+ * Subscribers also receive their own messages and are expected to skip them by origin.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
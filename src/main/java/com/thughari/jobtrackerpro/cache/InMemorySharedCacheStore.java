@@ -0,0 +1,55 @@
+package com.thughari.jobtrackerpro.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local stand-in for a shared L2 store, for tests and single-instance runs.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private record Entry(Object value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final Map<String, Map<String, Entry>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(String cacheName, String key) {
+        Map<String, Entry> cache = caches.get(cacheName);
+        if (cache == null) {
+            return null;
+        }
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>())
+                .put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        Map<String, Entry> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        caches.remove(cacheName);
+    }
+}
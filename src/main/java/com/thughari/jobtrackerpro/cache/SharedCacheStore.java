@@ -0,0 +1,19 @@
+package com.thughari.jobtrackerpro.cache;
+
+import java.time.Duration;
+
+/**
+ * Second-level cache shared by every instance of the service (e.g. Redis or Memcached).
+ * Keys are already namespaced by cache name; implementations only need to store values
+ * for at most {@code ttl}.
+ */
+public interface SharedCacheStore {
+
+    Object get(String cacheName, String key);
+
+    void put(String cacheName, String key, Object value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+}
@@ -0,0 +1,145 @@
+package com.thughari.jobtrackerpro.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process Caffeine L1 in front of an optional {@link SharedCacheStore} L2.
+ * Evictions are applied to both tiers and broadcast on the {@link CacheInvalidationBus}
+ * so other instances drop their L1 copy too. Keys are normalised to strings so they
+ * survive the trip over the bus.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final SharedCacheStore shared;
+    private final Duration sharedTtl;
+    private final CacheInvalidationBus bus;
+    private final String instanceId;
+    private final LongAdder sharedHits = new LongAdder();
+
+    public TwoTierCache(String name, Cache<String, Object> local, SharedCacheStore shared, Duration sharedTtl,
+            CacheInvalidationBus bus, String instanceId) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+        this.bus = bus;
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<String, Object> getNativeCache() {
+        return local;
+    }
+
+    public CacheStats stats() {
+        return local.stats();
+    }
+
+    public long sharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = toCacheKey(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value == null) {
+            value = lookupShared(cacheKey);
+            if (value != null) {
+                local.put(cacheKey, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = toCacheKey(key);
+        Object value = local.get(cacheKey, k -> {
+            Object sharedValue = lookupShared(k);
+            if (sharedValue != null) {
+                return sharedValue;
+            }
+            try {
+                Object loaded = toStoreValue(valueLoader.call());
+                putShared(k, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        putShared(cacheKey, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+        local.invalidate(cacheKey);
+        if (shared != null) {
+            shared.evict(name, cacheKey);
+        }
+        bus.publish(new CacheInvalidation(instanceId, name, cacheKey));
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (shared != null) {
+            shared.clear(name);
+        }
+        bus.publish(new CacheInvalidation(instanceId, name, null));
+    }
+
+    void invalidateLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private Object lookupShared(String cacheKey) {
+        if (shared == null) {
+            return null;
+        }
+        Object value = shared.get(name, cacheKey);
+        if (value != null) {
+            sharedHits.increment();
+        }
+        return value;
+    }
+
+    private void putShared(String cacheKey, Object storeValue) {
+        if (shared != null) {
+            shared.put(name, cacheKey, storeValue, sharedTtl);
+        }
+    }
+
+    private static String toCacheKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,83 @@
+package com.thughari.jobtrackerpro.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Builds {@link TwoTierCache}s and replays invalidations published by other instances.
+ * Transaction-aware, so puts and evictions issued inside a transaction (including the
+ * broadcast) only happen after it commits.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Caffeine<Object, Object>> specs = new LinkedHashMap<>();
+    private final Supplier<Caffeine<Object, Object>> defaultSpec;
+    private final CacheInvalidationBus bus;
+    private final SharedCacheStore shared;
+    private final Duration sharedTtl;
+
+    public TwoTierCacheManager(CacheInvalidationBus bus, SharedCacheStore shared, Duration sharedTtl,
+            Supplier<Caffeine<Object, Object>> defaultSpec) {
+        this.bus = bus;
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+        this.defaultSpec = defaultSpec;
+        setTransactionAware(true);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    public TwoTierCacheManager withCache(String name, Caffeine<Object, Object> spec) {
+        specs.put(name, spec);
+        return this;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        specs.forEach((name, spec) -> caches.add(createCache(name, spec)));
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name, defaultSpec.get());
+    }
+
+    private TwoTierCache createCache(String name, Caffeine<Object, Object> spec) {
+        return new TwoTierCache(name, spec.build(), shared, sharedTtl, bus, instanceId);
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.cacheName() == null) {
+            getCacheNames().forEach(name -> invalidateLocal(name, null));
+        } else {
+            invalidateLocal(invalidation.cacheName(), invalidation.key());
+        }
+    }
+
+    private void invalidateLocal(String cacheName, String key) {
+        Cache cache = lookupCache(cacheName);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.invalidateLocal(key);
+        }
+    }
+}
@@ -1,23 +1,98 @@
 package com.thughari.jobtrackerpro.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Executors for background work. With {@code spring.threads.virtual.enabled=true} Spring Boot serves
+ * requests on virtual threads, and {@code @Async} methods switch to one virtual thread per task as well;
+ * otherwise Spring's default executor is kept. The dedicated executors below behave the same in either mode.
+ */
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-
-    @Bean(name = "dashboardExecutor")
-    public Executor dashboardExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4); 
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("DashThread-");
-        executor.initialize();
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // virtual threads are not pooled, so this is what keeps a burst from exhausting the DB pool
+    @Value("${app.async.max-concurrency:64}")
+    private int asyncMaxConcurrency;
+
+    @Value("${app.storage.image.workers:2}")
+    private int imageWorkers;
+
+    @Value("${app.storage.image.queue-capacity:16}")
+    private int imageQueueCapacity;
+
+    @Value("${app.security.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordHashThreads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+
+    /**
+     * Image decoding and resizing is CPU-bound, so it gets a small fixed pool of platform threads in
+     * either mode. Once the queue is full further work is rejected ({@code RejectedExecutionException})
+     * rather than run on the caller's request thread. A plain {@code ExecutorService} rather than a
+     * {@code TaskExecutor}, so it is never picked up as the default {@code @Async} executor.
+     */
+    @Bean(name = "imageExecutor", destroyMethod = "shutdown")
+    public ExecutorService imageExecutor() {
+        return new ThreadPoolExecutor(imageWorkers, imageWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(imageQueueCapacity),
+                new CustomizableThreadFactory("ImageThread-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * BCrypt hashing and verification, sized to the CPU count by default: more threads would only
+     * make every hash slower. Rejects once the queue is full, like {@code imageExecutor}.
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor() {
+        return new ThreadPoolExecutor(passwordHashThreads, passwordHashThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(passwordHashQueueCapacity),
+                new CustomizableThreadFactory("PasswordHash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Writes to server-sent event streams. Always one virtual thread per task, whatever the mode: a send
+     * to a slow client blocks until its socket drains, which parks a virtual thread at no cost but would
+     * tie up a pooled one. Streams with nothing to send hold no thread at all.
+     */
+    @Bean(name = "sseExecutor", destroyMethod = "shutdown")
+    public ExecutorService sseExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SseThread-", 0).factory());
+    }
+
+    /**
+     * {@code @Async} methods run on virtual threads in virtual mode; {@code null}
+     * keeps Spring's default executor lookup otherwise.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return virtualThreads ? virtualExecutor("AsyncThread-", asyncMaxConcurrency) : null;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualExecutor(String threadNamePrefix, int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        // callers wait for a permit instead of having tasks rejected
+        executor.setConcurrencyLimit(maxConcurrency);
+        executor.setTaskTerminationTimeout(10_000);
         return executor;
     }
-}
\ No newline at end of file
+}
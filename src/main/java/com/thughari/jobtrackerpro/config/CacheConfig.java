@@ -0,0 +1,105 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thughari.jobtrackerpro.cache.CacheInvalidationBus;
+import com.thughari.jobtrackerpro.cache.InMemoryCacheInvalidationBus;
+import com.thughari.jobtrackerpro.cache.InMemorySharedCacheStore;
+import com.thughari.jobtrackerpro.cache.PostgresCacheInvalidationBus;
+import com.thughari.jobtrackerpro.cache.SharedCacheStore;
+import com.thughari.jobtrackerpro.cache.TwoTierCacheManager;
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.dto.JobDataResponse;
+import com.thughari.jobtrackerpro.search.InMemoryJobSearchIndex;
+import com.thughari.jobtrackerpro.search.InvertedIndex;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${app.cache.job-data.max-weight-kb:65536}")
+    private long jobDataMaxWeightKb;
+
+    @Value("${app.cache.job-data.ttl:10m}")
+    private Duration jobDataTtl;
+
+    @Value("${app.cache.search-index.max-weight-kb:131072}")
+    private long searchIndexMaxWeightKb;
+
+    @Value("${app.cache.search-index.ttl:30m}")
+    private Duration searchIndexTtl;
+
+    @Value("${app.cache.default.max-size:10000}")
+    private long defaultMaxSize;
+
+    @Value("${app.cache.default.ttl:10m}")
+    private Duration defaultTtl;
+
+    @Value("${app.cache.l2.ttl:30m}")
+    private Duration sharedTtl;
+
+    @Bean
+    public CacheManager cacheManager(CacheInvalidationBus invalidationBus, ObjectProvider<SharedCacheStore> sharedStore) {
+        TwoTierCacheManager manager = new TwoTierCacheManager(invalidationBus, sharedStore.getIfAvailable(), sharedTtl,
+                () -> Caffeine.newBuilder().maximumSize(defaultMaxSize).expireAfterWrite(defaultTtl).recordStats());
+
+        manager.withCache("jobData", Caffeine.newBuilder()
+                .maximumWeight(jobDataMaxWeightKb)
+                .weigher((Object key, Object value) -> estimateKilobytes(value))
+                .expireAfterWrite(jobDataTtl)
+                .recordStats());
+        manager.withCache(InMemoryJobSearchIndex.CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(searchIndexMaxWeightKb)
+                .weigher((Object key, Object value) -> value instanceof InvertedIndex index ? index.estimateKilobytes() : 1)
+                .expireAfterAccess(searchIndexTtl)
+                .recordStats());
+        return manager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2", havingValue = "memory")
+    public SharedCacheStore inMemorySharedCacheStore() {
+        return new InMemorySharedCacheStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "local", matchIfMissing = true)
+    public CacheInvalidationBus localCacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "postgres")
+    public CacheInvalidationBus postgresCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        return new PostgresCacheInvalidationBus(jdbcTemplate, url, username, password);
+    }
+
+    // rough retained size: fixed per-object overhead plus two bytes per char
+    private static int estimateKilobytes(Object value) {
+        if (!(value instanceof JobDataResponse data) || data.getJobs() == null) {
+            return 1;
+        }
+        long bytes = 256;
+        for (JobDTO job : data.getJobs()) {
+            bytes += 200 + 2L * (length(job.getCompany()) + length(job.getRole()) + length(job.getLocation())
+                    + length(job.getStatus()) + length(job.getStageStatus()) + length(job.getUrl())
+                    + length(job.getNotes()));
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes / 1024));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
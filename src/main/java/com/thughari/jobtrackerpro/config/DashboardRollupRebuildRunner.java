@@ -0,0 +1,36 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.thughari.jobtrackerpro.service.DashboardRollupService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repair command: start the app with {@code --rebuild-dashboard-rollups} to recompute
+ * every user's dashboard rollup from the jobs table.
+ */
+@Component
+@Slf4j
+public class DashboardRollupRebuildRunner implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-dashboard-rollups";
+
+    private final DashboardRollupService rollupService;
+
+    public DashboardRollupRebuildRunner(DashboardRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int users = rollupService.rebuildAll();
+        log.info("Dashboard rollup rebuild finished: {} users in {} ms", users, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,30 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.thughari.jobtrackerpro.events.InMemoryJobEventRelay;
+import com.thughari.jobtrackerpro.events.JobEventRelay;
+import com.thughari.jobtrackerpro.events.PostgresJobEventRelay;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class EventsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.events.relay", havingValue = "local", matchIfMissing = true)
+    public JobEventRelay localJobEventRelay() {
+        return new InMemoryJobEventRelay();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.events.relay", havingValue = "postgres")
+    public JobEventRelay postgresJobEventRelay(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper,
+            @Value("${spring.datasource.url}") String url, @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        return new PostgresJobEventRelay(jdbcTemplate, jsonMapper, url, username, password);
+    }
+}
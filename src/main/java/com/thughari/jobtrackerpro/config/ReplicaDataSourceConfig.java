@@ -0,0 +1,96 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.thughari.jobtrackerpro.cache.CacheInvalidationBus;
+import com.thughari.jobtrackerpro.datasource.ReadYourWritesTracker;
+import com.thughari.jobtrackerpro.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool ({@code spring.datasource.*}) plus one pool per
+ * replica URL. Replica pools copy the primary's Hikari settings, apart from URL, credentials and size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(CacheInvalidationBus invalidationBus,
+            @Value("${app.datasource.replicas.read-your-writes-window:15s}") Duration window,
+            @Value("${app.datasource.replicas.read-your-writes-max-users:100000}") long maxUsers,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag,
+            @Value("${app.datasource.replicas.lag-check-interval:5s}") Duration lagCheckInterval) {
+        // a replica in rotation was within max-lag at its last check and may have fallen one interval further behind;
+        // a shorter window lets a user's read, and the jobData entry cached from it, miss their own write
+        Duration stalest = maxLag.plus(lagCheckInterval);
+        if (window.compareTo(stalest) < 0) {
+            throw new IllegalStateException("app.datasource.replicas.read-your-writes-window (" + window
+                    + ") must be at least max-lag plus lag-check-interval (" + stalest + ")");
+        }
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(window, maxUsers);
+        // cache keys are user emails: a write on another instance pins that user here too
+        invalidationBus.subscribe(invalidation -> tracker.pin(invalidation.key()));
+        return tracker;
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource, ReadYourWritesTracker tracker,
+            @Value("${app.datasource.replicas.urls}") String[] urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replicas.pool-size:0}") int poolSize,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            // an unreachable replica must not stop startup; the lag check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            if (poolSize > 0) {
+                config.setMaximumPoolSize(poolSize);
+            }
+            // replica pools are not beans, so Spring Boot's pool metrics do not reach them; this must be set before the pool starts
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(config));
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled is set but app.datasource.replicas.urls is empty");
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, tracker, maxLag, lagQuery);
+    }
+}
@@ -0,0 +1,44 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.thughari.jobtrackerpro.repo.JobRepository;
+import com.thughari.jobtrackerpro.search.InMemoryJobSearchIndex;
+import com.thughari.jobtrackerpro.search.JobSearchIndex;
+import com.thughari.jobtrackerpro.search.PostgresJobSearchIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.util.Locale;
+
+@Configuration
+@Slf4j
+public class SearchConfig {
+
+    /**
+     * {@code app.search.engine}: {@code postgres}, {@code memory}, or {@code auto} to pick
+     * Postgres full-text search whenever the datasource is Postgres.
+     */
+    @Bean
+    public JobSearchIndex jobSearchIndex(@Value("${app.search.engine:auto}") String engine,
+            JdbcTemplate jdbcTemplate, JobRepository jobRepository, CacheManager cacheManager) {
+        boolean postgres = switch (engine.toLowerCase(Locale.ROOT)) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            case "auto" -> isPostgres(jdbcTemplate);
+            default -> throw new IllegalArgumentException("Unsupported app.search.engine: " + engine);
+        };
+        log.info("Job search engine: {}", postgres ? "postgres" : "memory");
+        return postgres ? new PostgresJobSearchIndex(jdbcTemplate) : new InMemoryJobSearchIndex(jobRepository, cacheManager);
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection con) ->
+                con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")));
+    }
+}
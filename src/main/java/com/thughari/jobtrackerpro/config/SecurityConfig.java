@@ -1,31 +1,42 @@
 package com.thughari.jobtrackerpro.config;
 
+import com.thughari.jobtrackerpro.security.BoundedPasswordEncoder;
 import com.thughari.jobtrackerpro.security.JwtAuthenticationFilter;
 import com.thughari.jobtrackerpro.security.OAuth2SuccessHandler;
+import com.thughari.jobtrackerpro.security.RateLimitFilter;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class SecurityConfig {
 
 	private final JwtAuthenticationFilter jwtAuthFilter;
 	private final OAuth2SuccessHandler oAuth2SuccessHandler;
+	private final RateLimitFilter rateLimitFilter;
 
 	@Value("#{'${app.allowed.cors}'.split(',')}")
 	private List<String> allowedCors;
@@ -36,9 +47,41 @@ public class SecurityConfig {
 	@Value("#{'${app.public.endpoints}'.split(',')}")
 	private String[] publicEndpoints;
 
-	public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, OAuth2SuccessHandler oAuth2SuccessHandler) {
+	public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, OAuth2SuccessHandler oAuth2SuccessHandler,
+			RateLimitFilter rateLimitFilter) {
 		this.jwtAuthFilter = jwtAuthFilter;
 		this.oAuth2SuccessHandler = oAuth2SuccessHandler;
+		this.rateLimitFilter = rateLimitFilter;
+	}
+
+	/**
+	 * Actuator endpoints sit outside the user chain: health is public, and everything else (the Prometheus
+	 * scrape) needs {@code Authorization: Bearer <app.metrics.scrape-token>}. Without a token they stay closed.
+	 */
+	@Bean
+	@Order(1)
+	public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+			@Value("${app.metrics.scrape-token:}") String scrapeToken) throws Exception {
+		byte[] expected = scrapeToken.isBlank() ? null : ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+		http
+		.securityMatcher("/actuator/**")
+		.csrf(csrf -> csrf.disable())
+		.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+		.authorizeHttpRequests(auth -> auth
+				.requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+				.anyRequest().access((authentication, context) -> {
+					String authorization = context.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+					return new AuthorizationDecision(expected != null && authorization != null
+							&& MessageDigest.isEqual(expected, authorization.getBytes(StandardCharsets.UTF_8)));
+				})
+				)
+		.exceptionHandling(e -> e
+				.authenticationEntryPoint((request, response, authException) -> {
+					response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+				})
+				);
+
+		return http.build();
 	}
 
 	@Bean
@@ -55,6 +98,8 @@ public class SecurityConfig {
 		.csrf(csrf -> csrf.disable())
 		.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 		.authorizeHttpRequests(auth -> auth
+				// completes a streaming response whose request was already authorized
+				.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 				.requestMatchers(publicEndpoints).permitAll()
 				.anyRequest().authenticated()
 				)
@@ -66,14 +111,18 @@ public class SecurityConfig {
 		.oauth2Login(oauth2 -> oauth2
 				.successHandler(oAuth2SuccessHandler)
 				)
-		.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+		.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+		// after JWT authentication, so profile updates can be limited per account
+		.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public BoundedPasswordEncoder passwordEncoder(@Qualifier("passwordHashExecutor") ThreadPoolExecutor passwordHashExecutor,
+			@Value("${app.security.bcrypt.strength:10}") int strength,
+			@Value("${app.security.password-hashing.timeout:5s}") Duration timeout) {
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashExecutor, timeout);
 	}
 
 	@Bean
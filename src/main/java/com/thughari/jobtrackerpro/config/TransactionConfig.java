@@ -0,0 +1,24 @@
+package com.thughari.jobtrackerpro.config;
+
+import org.springframework.boot.transaction.autoconfigure.TransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Methods marked {@code NOT_SUPPORTED} (login, signup, profile updates) keep slow work such as password
+     * hashing and R2 uploads outside any transaction. With the default synchronization, such a scope binds
+     * one EntityManager for its whole duration, which holds a connection while the nested
+     * {@code save} opens a second one; enough concurrent requests then exhaust the pool with every
+     * thread waiting for its second connection. Synchronizing only on actual transactions gives each
+     * repository call in those scopes its own short-lived EntityManager instead.
+     */
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> synchronizeOnActualTransaction() {
+        return transactionManager -> transactionManager.setTransactionSynchronization(
+                AbstractPlatformTransactionManager.SYNCHRONIZATION_ON_ACTUAL_TRANSACTION);
+    }
+}
@@ -0,0 +1,100 @@
+package com.thughari.jobtrackerpro.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier (blocking inside {@code synchronized} or
+ * native code) for longer than the threshold, using the JFR {@code jdk.VirtualThreadPinned} event.
+ * JDBC drivers and pools are the usual culprits, so pins with a JDBC frame on the stack are called out.
+ * Each distinct stack is logged once with its frames, then only counted.
+ */
+@Component
+@ConditionalOnProperty(name = { "spring.threads.virtual.enabled", "app.threads.pinning-diagnostics.enabled" }, havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_TRACKED_STACKS = 1000;
+    private static final List<String> JDBC_PACKAGES = List.of("java.sql.", "javax.sql.", "com.zaxxer.hikari.",
+            "org.postgresql.", "org.h2.", "com.mysql.", "org.hibernate.engine.jdbc.");
+
+    private final Duration threshold;
+    private final AtomicLong pinned = new AtomicLong();
+    private final AtomicLong pinnedInJdbc = new AtomicLong();
+    private final Map<String, AtomicLong> byStack = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning-diagnostics.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::report);
+        stream.startAsync();
+        log.info("Virtual thread pinning diagnostics enabled (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+            log.info("Virtual thread pinning: {} events, {} in JDBC", pinned.get(), pinnedInJdbc.get());
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedCount() {
+        return pinned.get();
+    }
+
+    public long getPinnedInJdbcCount() {
+        return pinnedInJdbc.get();
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.incrementAndGet();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        boolean jdbc = frames.stream().anyMatch(VirtualThreadPinningMonitor::isJdbc);
+        if (jdbc) {
+            pinnedInJdbc.incrementAndGet();
+        }
+        String stack = frames.stream().limit(LOGGED_FRAMES)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (byStack.size() < MAX_TRACKED_STACKS
+                && byStack.computeIfAbsent(stack, s -> new AtomicLong()).getAndIncrement() == 0) {
+            log.warn("Virtual thread {} pinned for {} ms{}:\n\tat {}", event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                    event.getDuration().toMillis(), jdbc ? " in JDBC" : "", stack);
+        }
+    }
+
+    private static boolean isJdbc(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+}
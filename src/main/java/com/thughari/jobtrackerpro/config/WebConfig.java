@@ -0,0 +1,24 @@
+package com.thughari.jobtrackerpro.config;
+
+import com.thughari.jobtrackerpro.util.CborHttpMessageConverter;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final JsonMapper jsonMapper;
+
+    public WebConfig(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    // CBOR sits after JSON, so only an explicit "Accept: application/cbor" selects it
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new CborHttpMessageConverter(jsonMapper));
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -45,14 +47,15 @@ public class AuthController {
         return ResponseEntity.ok(authService.getCurrentUser(email));
     }
 
+    // an async request: the servlet thread is released while the image is imported or uploaded
     @PutMapping(value = "/profile", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<?> updateProfile(
+    public CompletableFuture<ResponseEntity<UserProfileResponse>> updateProfile(
             @RequestParam String name,
             @RequestParam(required = false) String imageUrl,
             @RequestParam(required = false) MultipartFile file
     ) {
         String email = getAuthenticatedEmail();
-        return ResponseEntity.ok(authService.updateProfileAtomic(email, name, imageUrl, file));
+        return authService.updateProfileAtomic(email, name, imageUrl, file).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/password")
@@ -1,42 +1,142 @@
 package com.thughari.jobtrackerpro.controller;
 
+import com.thughari.jobtrackerpro.dto.DashboardGranularity;
 import com.thughari.jobtrackerpro.dto.DashboardResponse;
 import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobBatchRequest;
+import com.thughari.jobtrackerpro.dto.JobBatchResponse;
+import com.thughari.jobtrackerpro.dto.JobChangesResponse;
 import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.dto.JobDataResponse;
+import com.thughari.jobtrackerpro.dto.JobFileFormat;
+import com.thughari.jobtrackerpro.dto.JobImportResponse;
+import com.thughari.jobtrackerpro.events.JobChangeEvent;
+import com.thughari.jobtrackerpro.events.JobEventHub;
+import com.thughari.jobtrackerpro.service.DashboardRollupService;
+import com.thughari.jobtrackerpro.service.DashboardService;
+import com.thughari.jobtrackerpro.service.JobExportService;
+import com.thughari.jobtrackerpro.service.JobImportService;
 import com.thughari.jobtrackerpro.service.JobService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/jobs")
 public class JobController {
 
     private final JobService jobService;
+    private final DashboardService dashboardService;
+    private final JobImportService jobImportService;
+    private final JobExportService jobExportService;
+    private final DashboardRollupService rollupService;
+    private final JobEventHub jobEventHub;
 
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, DashboardService dashboardService,
+            JobImportService jobImportService, JobExportService jobExportService,
+            DashboardRollupService rollupService, JobEventHub jobEventHub) {
         this.jobService = jobService;
+        this.dashboardService = dashboardService;
+        this.jobImportService = jobImportService;
+        this.jobExportService = jobExportService;
+        this.rollupService = rollupService;
+        this.jobEventHub = jobEventHub;
     }
     
     @GetMapping
-    public ResponseEntity<List<JobDTO>> getAllJobs() {
+    public ResponseEntity<?> getAllJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all,
+            WebRequest request
+    ) {
         String email = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return ResponseEntity.ok(jobService.getUserJobs(email));
+        if (all) {
+            return conditional(request, email, () -> jobService.getUserJobs(email));
+        }
+        return conditional(request, email, () -> jobService.getJobPage(email, cursor, size));
+    }
+
+    @GetMapping("/data")
+    public ResponseEntity<JobDataResponse> getJobData(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all,
+            WebRequest request
+    ) {
+        String email = getAuthenticatedEmail();
+        if (all) {
+            return conditional(request, email, () -> jobService.getFullJobData(email));
+        }
+        return conditional(request, email, () -> jobService.getJobData(email, cursor, size));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<JobChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            WebRequest request
+    ) {
+        String email = getAuthenticatedEmail();
+        return conditional(request, email, () -> jobService.getChanges(email, since));
+    }
+
+    /**
+     * Pushes the user's job changes as server-sent events, starting with {@code ready} (current version
+     * and stats). Event ids are data versions: after a reconnect, fetch {@code /changes?since=<last id>}.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        String email = getAuthenticatedEmail();
+        JobChangeEvent ready = JobChangeEvent.ready(email, rollupService.getDataVersion(email), jobService.getStats(email));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // keeps reverse proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(jobEventHub.connect(email, ready));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<JobDTO>> searchJobs(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        String email = getAuthenticatedEmail();
+        return ResponseEntity.ok(jobService.searchJobs(email, q, limit));
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsDTO> getStats() {
+    public ResponseEntity<DashboardStatsDTO> getStats(WebRequest request) {
         String email = getAuthenticatedEmail();
-        return ResponseEntity.ok(jobService.getStats(email));
+        return conditional(request, email, () -> jobService.getStats(email));
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<DashboardResponse> getDashboard() {
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity,
+            WebRequest request
+    ) {
         String email = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return ResponseEntity.ok(jobService.getDashboardData(email));
+        DashboardGranularity resolved = DashboardGranularity.from(granularity);
+        return conditional(request, email, () -> dashboardService.getDashboard(email, from, to, resolved));
     }
     
     @PostMapping
@@ -45,12 +145,58 @@ public class JobController {
         return ResponseEntity.ok(jobService.createJob(jobDTO, email));
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<JobImportResponse> importJobs(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestParam(required = false) String format,
+            InputStream body
+    ) {
+        String email = getAuthenticatedEmail();
+        return ResponseEntity.ok(jobImportService.importJobs(body, JobFileFormat.from(format, contentType), email));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        String email = getAuthenticatedEmail();
+        JobFileFormat fileFormat = JobFileFormat.from(format, null);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                jobExportService.exportJobs(email, fileFormat, compressed);
+                compressed.finish();
+            } else {
+                jobExportService.exportJobs(email, fileFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("jobs." + fileFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<JobDTO> updateJob(@PathVariable UUID id, @RequestBody JobDTO jobDTO) {
     	String email = getAuthenticatedEmail();
         return ResponseEntity.ok(jobService.updateJob(id, jobDTO, email));
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<JobBatchResponse> applyBatch(@RequestBody JobBatchRequest request) {
+        String email = getAuthenticatedEmail();
+        return ResponseEntity.ok(jobService.applyBatch(request, email));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJob(@PathVariable UUID id) {
     	String email = getAuthenticatedEmail();
@@ -58,6 +204,22 @@ public class JobController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Answers 304 from the cached per-user data version before anything is queried or serialized.
+     * The ETag carries a hash of the user so two accounts sharing a browser never match each other.
+     * It is weak because the same version goes out as JSON or CBOR, gzipped or not (and Tomcat does
+     * not compress responses with a strong ETag); {@code Vary} keeps caches from mixing the formats.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String email, Supplier<T> body) {
+        String eTag = "W/\"" + Integer.toHexString(email.hashCode()) + "-" + rollupService.getDataVersion(email) + "\"";
+        CacheControl revalidate = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(revalidate)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(revalidate).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
     private String getAuthenticatedEmail() {
         return (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
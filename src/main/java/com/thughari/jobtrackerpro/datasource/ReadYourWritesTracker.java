@@ -0,0 +1,59 @@
+package com.thughari.jobtrackerpro.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write recently, so that their reads skip the replicas until replication
+ * has caught up. Users are keyed by their authenticated name (the email), which is also the key of their
+ * cache entries: evictions broadcast by other instances are fed into {@link #pin(String)}, so a user whose
+ * next request lands on another instance does not read their own write from a lagging replica either.
+ * Writes without an authenticated user (signup, password reset, background jobs) pin nobody.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> pinned;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.pinned = window.isZero() ? null
+                : Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(window).build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            pin(currentUser());
+        }
+    }
+
+    public void pin(String user) {
+        if (pinned != null && user != null) {
+            pinned.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean isCurrentUserPinned() {
+        if (pinned == null) {
+            return false;
+        }
+        String user = currentUser();
+        return user != null && pinned.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
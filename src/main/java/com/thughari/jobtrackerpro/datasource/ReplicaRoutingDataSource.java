@@ -0,0 +1,168 @@
+package com.thughari.jobtrackerpro.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary. Connections are
+ * fetched lazily, so the target is chosen on the first statement, once the transaction manager has marked
+ * the connection read-only. Replicas take turns; a read stays on the primary when the current user
+ * committed a write within the read-your-writes window, or when no replica is within {@code maxLag}
+ * (checked by {@link #checkReplicaLag()} with {@code lagQuery}) and reachable.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+            ReadYourWritesTracker tracker, Duration maxLag, String lagQuery) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.tracker = tracker;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        setReadOnlyDataSource(new ReadOnlyRouter());
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPinnedReadCount() {
+        return pinnedReads.sum();
+    }
+
+    public long getFallbackReadCount() {
+        return fallbackReads.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:5s}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                double lag = lagQuery == null || lagQuery.isBlank() ? 0 : queryLag(connection);
+                replica.lagSeconds = lag;
+                replica.setHealthy(lag <= maxLagSeconds, "lag " + lag + "s");
+            } catch (SQLException e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(5);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                // NULL: not a standby, or nothing replayed yet
+                return rs.next() ? rs.getDouble(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        if (tracker.isCurrentUserPinned()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    public static final class Replica {
+
+        private final HikariDataSource pool;
+        private final LongAdder reads = new LongAdder();
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        public HikariDataSource getPool() {
+            return pool;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public long getReadCount() {
+            return reads.sum();
+        }
+
+        private void setHealthy(boolean healthy, String reason) {
+            if (this.healthy != healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation ({})", pool.getPoolName(), reason);
+                } else {
+                    log.warn("Replica {} taken out of rotation: {}", pool.getPoolName(), reason);
+                }
+            }
+            this.healthy = healthy;
+        }
+    }
+
+    private final class ReadOnlyRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Replica connections use the pool credentials");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.thughari.jobtrackerpro.dto;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+public enum DashboardGranularity {
+    WEEK,
+    MONTH,
+    QUARTER;
+
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yy");
+
+    public static DashboardGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported granularity: " + value);
+        }
+    }
+
+    /**
+     * Chart label for a bucket. {@code period} is the ISO week, month or quarter number,
+     * and {@code year} the matching (week-based, for WEEK) year.
+     */
+    public String label(int year, int period) {
+        return switch (this) {
+            case WEEK -> String.format("W%02d %02d", period, year % 100);
+            case MONTH -> YearMonth.of(year, period).format(MONTH_LABEL);
+            case QUARTER -> String.format("Q%d %02d", period, year % 100);
+        };
+    }
+}
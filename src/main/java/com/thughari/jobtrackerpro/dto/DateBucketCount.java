@@ -0,0 +1,12 @@
+package com.thughari.jobtrackerpro.dto;
+
+/**
+ * Job count for one calendar (year, month[, ISO week]) group, as returned by the
+ * time-series GROUP BY queries.
+ */
+public record DateBucketCount(Integer year, Integer month, Integer week, Long count) {
+
+    public DateBucketCount(Integer year, Integer month, Long count) {
+        this(year, month, null, count);
+    }
+}
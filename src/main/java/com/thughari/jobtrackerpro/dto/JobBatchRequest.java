@@ -0,0 +1,19 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One change for many jobs: either {@code delete}, or new values for any of status, stage and
+ * stage status (fields left null are not touched).
+ */
+@Data
+public class JobBatchRequest {
+    private List<UUID> ids;
+    private boolean delete;
+    private String status;
+    private Integer stage;
+    private String stageStatus;
+}
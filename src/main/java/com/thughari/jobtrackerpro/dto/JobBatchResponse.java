@@ -0,0 +1,14 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JobBatchResponse {
+    private List<JobBatchResult> results;
+    private long version;
+    private DashboardStatsDTO stats;
+}
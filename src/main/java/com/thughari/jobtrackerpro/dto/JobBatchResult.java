@@ -0,0 +1,18 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class JobBatchResult {
+
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String NOT_FOUND = "not_found";
+
+    private UUID id;
+    private String outcome;
+}
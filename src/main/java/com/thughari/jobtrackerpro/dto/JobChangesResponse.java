@@ -0,0 +1,20 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Jobs created or updated after the requested version and ids of jobs deleted since, up to
+ * {@code version}, which the client sends as {@code since} next time. With {@code resync} set,
+ * {@code jobs} is the full list and replaces whatever the client holds.
+ */
+@Data
+@AllArgsConstructor
+public class JobChangesResponse {
+    private List<JobDTO> jobs;
+    private List<UUID> deleted;
+    private long version;
+    private boolean resync;
+}
@@ -0,0 +1,9 @@
+package com.thughari.jobtrackerpro.dto;
+
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+/**
+ * One GROUP BY row over a user's jobs, enough to rebuild every dashboard counter.
+ */
+public record JobCountBucket(String userEmail, JobStatus status, Integer stage, Integer year, Integer month, Long count) {
+}
@@ -0,0 +1,37 @@
+package com.thughari.jobtrackerpro.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (date desc nulls first, id desc) ordering of a user's jobs. Jobs written
+ * before dates were defaulted may have none, so {@code date} can be null.
+ * Clients only ever see the encoded form and must treat it as opaque.
+ */
+public record JobCursor(LocalDate date, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate date = sep == 0 ? null : LocalDate.parse(raw.substring(0, sep));
+            return new JobCursor(date, UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.thughari.jobtrackerpro.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.thughari.jobtrackerpro.entity.JobStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 public class JobDTO {
     private UUID id;
     private String company;
@@ -18,4 +22,26 @@ public class JobDTO {
     private Double salaryMax;
     private String url;
     private String notes;
-}
\ No newline at end of file
+
+    /**
+     * Used by JPQL constructor expressions in {@code JobRepository}, so read queries select straight
+     * into DTOs instead of hydrating managed {@code Job} entities. Not a JSON creator: request bodies
+     * carry the status label, so Jackson must bind through the setters.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+    public JobDTO(UUID id, String company, String role, String location, LocalDate date, JobStatus status,
+            Integer stage, String stageStatus, Double salaryMin, Double salaryMax, String url, String notes) {
+        this.id = id;
+        this.company = company;
+        this.role = role;
+        this.location = location;
+        this.date = date;
+        this.status = JobStatus.labelOf(status);
+        this.stage = stage;
+        this.stageStatus = stageStatus;
+        this.salaryMin = salaryMin;
+        this.salaryMax = salaryMax;
+        this.url = url;
+        this.notes = notes;
+    }
+}
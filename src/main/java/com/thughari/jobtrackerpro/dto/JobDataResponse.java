@@ -9,4 +9,5 @@ import java.util.List;
 public class JobDataResponse {
     private List<JobDTO> jobs;
     private DashboardStatsDTO stats;
-}
\ No newline at end of file
+    private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class JobImportError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JobImportResponse {
+    private int imported;
+    private int failed;
+    private List<JobImportError> errors;
+    private boolean errorsTruncated;
+}
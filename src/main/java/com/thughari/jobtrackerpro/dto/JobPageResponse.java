@@ -0,0 +1,13 @@
+package com.thughari.jobtrackerpro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JobPageResponse {
+    private List<JobDTO> jobs;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,12 @@
+package com.thughari.jobtrackerpro.dto;
+
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The columns of a job that the dashboard rollup counts, read before a set-based update or delete.
+ */
+public record JobRollupState(UUID id, JobStatus status, Integer stage, LocalDate date) {
+}
@@ -0,0 +1,6 @@
+package com.thughari.jobtrackerpro.dto;
+
+import com.thughari.jobtrackerpro.entity.JobStatus;
+
+public record StatusCount(JobStatus status, Long count) {
+}
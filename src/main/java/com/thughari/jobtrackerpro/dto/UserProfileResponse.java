@@ -1,6 +1,7 @@
 package com.thughari.jobtrackerpro.dto;
 
 import lombok.Data;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -9,6 +10,8 @@ public class UserProfileResponse {
     private String name;
     private String email;
     private String imageUrl;
+    // thumbnail URLs by edge length in pixels; empty when imageUrl has no thumbnails
+    private Map<Integer, String> imageVariants;
     private String provider;
     private boolean hasPassword;
 }
\ No newline at end of file
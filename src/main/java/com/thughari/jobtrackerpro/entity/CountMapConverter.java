@@ -0,0 +1,29 @@
+package com.thughari.jobtrackerpro.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Converter
+public class CountMapConverter implements AttributeConverter<Map<String, Long>, String> {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+    private static final TypeReference<LinkedHashMap<String, Long>> TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Long> counts) {
+        return MAPPER.writeValueAsString(counts == null ? Map.of() : counts);
+    }
+
+    @Override
+    public Map<String, Long> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return MAPPER.readValue(json, TYPE);
+    }
+}
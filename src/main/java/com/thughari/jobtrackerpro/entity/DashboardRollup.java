@@ -0,0 +1,120 @@
+package com.thughari.jobtrackerpro.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-user dashboard read model. Kept in step with the jobs table by
+ * {@code DashboardRollupService} inside the same transaction as every job mutation.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "dashboard_rollups")
+public class DashboardRollup {
+
+    @Id
+    private String userEmail;
+
+    private long totalApplications;
+    private long activePipeline;
+    private long interviews;
+    private long offers;
+
+    // jobs that reached stage 3 or later, used by the interview split chart
+    private long interviewed;
+
+    @Convert(converter = CountMapConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, Long> statusCounts = new LinkedHashMap<>();
+
+    // keyed by YearMonth.toString(), e.g. "2024-03", so keys sort chronologically
+    @Convert(converter = CountMapConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, Long> monthlyCounts = new LinkedHashMap<>();
+
+    // bumped by every write to the user's jobs; exposed to clients as the ETag of their job data
+    @ColumnDefault("0")
+    private long dataVersion;
+
+    // highest change version whose tombstones were purged; clients syncing from before it must resync
+    @ColumnDefault("0")
+    private long tombstoneFloor;
+
+    public DashboardRollup(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public void add(JobStatus status, Integer stage, LocalDate date) {
+        apply(status, stage, date, 1);
+    }
+
+    public void add(JobStatus status, Integer stage, LocalDate date, long count) {
+        apply(status, stage, date, count);
+    }
+
+    public void remove(JobStatus status, Integer stage, LocalDate date) {
+        apply(status, stage, date, -1);
+    }
+
+    public long nextDataVersion() {
+        return ++dataVersion;
+    }
+
+    public void reset() {
+        totalApplications = 0;
+        activePipeline = 0;
+        interviews = 0;
+        offers = 0;
+        interviewed = 0;
+        statusCounts = new LinkedHashMap<>();
+        monthlyCounts = new LinkedHashMap<>();
+    }
+
+    private void apply(JobStatus status, Integer stage, LocalDate date, long delta) {
+        int stageValue = stage == null ? 0 : stage;
+
+        totalApplications += delta;
+        if (status == null || status.isActive()) {
+            activePipeline += delta;
+        }
+        if (status == JobStatus.INTERVIEW_SCHEDULED || stageValue >= 3) {
+            interviews += delta;
+        }
+        if (status == JobStatus.OFFER_RECEIVED) {
+            offers += delta;
+        }
+        if (stageValue >= 3) {
+            interviewed += delta;
+        }
+        if (status != null) {
+            statusCounts = adjust(statusCounts, status.getLabel(), delta);
+        }
+        if (date != null) {
+            monthlyCounts = adjust(monthlyCounts, YearMonth.from(date).toString(), delta);
+        }
+    }
+
+    // returns a new map so Hibernate sees the converted attribute as dirty
+    private static Map<String, Long> adjust(Map<String, Long> counts, String key, long delta) {
+        Map<String, Long> updated = new LinkedHashMap<>(counts);
+        long value = updated.getOrDefault(key, 0L) + delta;
+        if (value <= 0) {
+            updated.remove(key);
+        } else {
+            updated.put(key, value);
+        }
+        return updated;
+    }
+}
@@ -1,33 +1,53 @@
 package com.thughari.jobtrackerpro.entity;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDate;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Data
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_user_id_date_id", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_jobs_user_id_status", columnList = "user_id, status_code"),
+        @Index(name = "idx_jobs_user_id_change_version", columnList = "user_id, change_version")
+})
 public class Job {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(columnDefinition = "uuid")		//@Column(columnDefinition = "VARCHAR(36)") -- for mySQL
     private UUID id;
 
-    private String userEmail; 
+    // nullable until the legacy user_email backfill is finished; see JobsNormalizationMigration
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "fk_jobs_user"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
 
     private String company;
     private String role;
     private String location;
     private LocalDate date;
 
-    private String status;
+    @Column(name = "status_code")
+    private JobStatus status;
     private Integer stage;
     private String stageStatus;
 
@@ -39,4 +59,9 @@ public class Job {
 
     @Column(length = 4096)
     private String notes;
-}
\ No newline at end of file
+
+    // the owner's data version when this job was last written; see GET /api/jobs/changes
+    @Column(name = "change_version")
+    @ColumnDefault("0")
+    private long changeVersion;
+}
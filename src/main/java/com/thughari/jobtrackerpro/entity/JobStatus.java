@@ -0,0 +1,64 @@
+package com.thughari.jobtrackerpro.entity;
+
+import java.util.Locale;
+
+/**
+ * Pipeline status of a job application. Persisted as the compact {@link #getCode() code}
+ * (see {@link JobStatusConverter}) and exposed over the API by its {@link #getLabel() label}.
+ * Codes are stable and mirrored into the {@code job_statuses} lookup table; never reuse one.
+ */
+public enum JobStatus {
+	APPLIED(1, "Applied"),
+	INTERVIEW_SCHEDULED(2, "Interview Scheduled"),
+	OFFER_RECEIVED(3, "Offer Received"),
+	REJECTED(4, "Rejected");
+
+	private final short code;
+	private final String label;
+
+	JobStatus(int code, String label) {
+		this.code = (short) code;
+		this.label = label;
+	}
+
+	public short getCode() {
+		return code;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public boolean isActive() {
+		return this != REJECTED && this != OFFER_RECEIVED;
+	}
+
+	public static JobStatus fromCode(short code) {
+		for (JobStatus status : values()) {
+			if (status.code == code) {
+				return status;
+			}
+		}
+		throw new IllegalArgumentException("Unknown job status code: " + code);
+	}
+
+	/**
+	 * Accepts the display label (case-insensitive) or the enum name; {@code null} stays {@code null}.
+	 */
+	public static JobStatus fromLabel(String label) {
+		if (label == null || label.isBlank()) {
+			return null;
+		}
+		String normalized = label.trim();
+		for (JobStatus status : values()) {
+			if (status.label.equalsIgnoreCase(normalized) || status.name().equals(normalized.toUpperCase(Locale.ROOT))) {
+				return status;
+			}
+		}
+		throw new IllegalArgumentException("Unknown job status: " + label);
+	}
+
+	public static String labelOf(JobStatus status) {
+		return status == null ? null : status.label;
+	}
+}
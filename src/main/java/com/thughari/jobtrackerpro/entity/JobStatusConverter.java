@@ -0,0 +1,18 @@
+package com.thughari.jobtrackerpro.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class JobStatusConverter implements AttributeConverter<JobStatus, Short> {
+
+	@Override
+	public Short convertToDatabaseColumn(JobStatus status) {
+		return status == null ? null : status.getCode();
+	}
+
+	@Override
+	public JobStatus convertToEntityAttribute(Short code) {
+		return code == null ? null : JobStatus.fromCode(code);
+	}
+}
@@ -0,0 +1,27 @@
+package com.thughari.jobtrackerpro.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lookup table for {@link JobStatus} codes, so the smallint in {@code jobs.status_code}
+ * stays readable from SQL and is protected by a foreign key.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_statuses")
+public class JobStatusLookup {
+
+	@Id
+	private Short code;
+
+	@Column(nullable = false, unique = true, length = 64)
+	private String label;
+}
@@ -0,0 +1,48 @@
+package com.thughari.jobtrackerpro.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a deleted job for the delta-sync API, carrying the change version of the delete. Rows are
+ * written by {@code JobTombstoneRepository.insertForJobs} just before the jobs are deleted, and
+ * purged after {@code app.jobs.changes.tombstone-retention}.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "job_tombstones", indexes = {
+        @Index(name = "idx_job_tombstones_user_id_change_version", columnList = "user_id, change_version")
+})
+public class JobTombstone {
+
+    @Id
+    @Column(columnDefinition = "uuid")
+    private UUID jobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_job_tombstones_user"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
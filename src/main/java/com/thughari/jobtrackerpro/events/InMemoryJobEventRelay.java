@@ -0,0 +1,24 @@
+package com.thughari.jobtrackerpro.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Same-JVM relay, for tests and single-instance deployments; with several instances, streams only see
+ * writes handled by their own instance.
+ */
+public class InMemoryJobEventRelay implements JobEventRelay {
+
+    private final List<Consumer<JobChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(JobChangeEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<JobChangeEvent> listener) {
+        listeners.add(listener);
+    }
+}
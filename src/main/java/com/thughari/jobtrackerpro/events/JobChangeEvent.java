@@ -0,0 +1,49 @@
+package com.thughari.jobtrackerpro.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobDTO;
+
+import java.util.UUID;
+
+/**
+ * A committed change to one user's jobs, as pushed to their open event streams. {@code version} is the
+ * user's data version after the change, so a client that missed events can catch up through
+ * {@code /api/jobs/changes?since=}. Bulk writes (imports) carry no job and ask the client to do just that.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobChangeEvent(@JsonIgnore String email, String type, long version, JobDTO job, UUID jobId,
+        DashboardStatsDTO stats) {
+
+    public static final String READY = "ready";
+    public static final String CREATED = "job.created";
+    public static final String UPDATED = "job.updated";
+    public static final String DELETED = "job.deleted";
+    public static final String CHANGED = "jobs.changed";
+
+    public static JobChangeEvent ready(String email, long version, DashboardStatsDTO stats) {
+        return new JobChangeEvent(email, READY, version, null, null, stats);
+    }
+
+    public static JobChangeEvent created(String email, long version, JobDTO job, DashboardStatsDTO stats) {
+        return new JobChangeEvent(email, CREATED, version, job, null, stats);
+    }
+
+    public static JobChangeEvent updated(String email, long version, JobDTO job, DashboardStatsDTO stats) {
+        return new JobChangeEvent(email, UPDATED, version, job, null, stats);
+    }
+
+    public static JobChangeEvent deleted(String email, long version, UUID jobId, DashboardStatsDTO stats) {
+        return new JobChangeEvent(email, DELETED, version, null, jobId, stats);
+    }
+
+    public static JobChangeEvent changed(String email, long version, DashboardStatsDTO stats) {
+        return new JobChangeEvent(email, CHANGED, version, null, null, stats);
+    }
+
+    // a newer bulk change supersedes an undelivered one: both only tell the client to fetch the delta
+    boolean supersedes(JobChangeEvent pending) {
+        return CHANGED.equals(type) && CHANGED.equals(pending.type);
+    }
+}
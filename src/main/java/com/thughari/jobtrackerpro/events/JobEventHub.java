@@ -0,0 +1,268 @@
+package com.thughari.jobtrackerpro.events;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed job changes out to each user's open event streams. Streams are async requests, so an
+ * idle one costs its socket and a small queue but no thread; a stream with undelivered events is drained
+ * by one task on {@code sseExecutor}, which keeps its events in order and lets a slow client block only
+ * its own writes. A client that falls {@code max-queued-events} behind is disconnected; it reconnects and
+ * catches up through the delta-sync endpoint.
+ * <p>
+ * Changes reach this instance through the {@link JobEventRelay} after their transaction commits, so
+ * streams never see a rolled-back write. With the Postgres relay every instance also sees writes made on
+ * the others; if the relay loses its connection, all streams are closed so clients resync on reconnect.
+ */
+@Component
+@Slf4j
+public class JobEventHub {
+
+    private static final JobChangeEvent HEARTBEAT = new JobChangeEvent(null, "heartbeat", 0, null, null, null);
+
+    private final JobEventRelay relay;
+    private final ExecutorService sendExecutor;
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder sentEvents = new LongAdder();
+    private final LongAdder slowConsumers = new LongAdder();
+
+    @Value("${app.events.sse.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.events.sse.reconnect-delay:3s}")
+    private Duration reconnectDelay;
+
+    @Value("${app.events.sse.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.events.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.events.sse.max-queued-events:64}")
+    private int maxQueuedEvents;
+
+    public JobEventHub(JobEventRelay relay, @Qualifier("sseExecutor") ExecutorService sendExecutor) {
+        this.relay = relay;
+        this.sendExecutor = sendExecutor;
+        relay.subscribe(this::deliver);
+        relay.onReconnect(this::closeStreams);
+    }
+
+    /**
+     * Opens a stream for the user that starts with {@code ready}. Past the per-user limit the user's
+     * oldest stream is closed (a forgotten tab); past the instance limit the request is rejected.
+     */
+    public SseEmitter connect(String email, JobChangeEvent ready) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RejectedExecutionException("Too many open event streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(email, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        Subscriber[] oldest = new Subscriber[1];
+        subscribers.compute(email, (key, list) -> {
+            List<Subscriber> streams = list == null ? new CopyOnWriteArrayList<>() : list;
+            streams.add(subscriber);
+            if (streams.size() > maxConnectionsPerUser) {
+                oldest[0] = streams.get(0);
+            }
+            return streams;
+        });
+        if (oldest[0] != null) {
+            oldest[0].close();
+        }
+        subscriber.offer(ready);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(JobChangeEvent event) {
+        relay.publish(event);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.sse.heartbeat-interval:25s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(streams -> streams.forEach(Subscriber::offerHeartbeat));
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        // before the web server's graceful shutdown, which would otherwise wait for every stream
+        closeStreams();
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getSentEventCount() {
+        return sentEvents.sum();
+    }
+
+    public long getSlowConsumerCount() {
+        return slowConsumers.sum();
+    }
+
+    private void closeStreams() {
+        subscribers.values().forEach(streams -> streams.forEach(Subscriber::close));
+    }
+
+    private void deliver(JobChangeEvent event) {
+        List<Subscriber> streams = subscribers.get(event.email());
+        if (streams != null) {
+            streams.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.email, (key, streams) -> {
+                streams.remove(subscriber);
+                return streams.isEmpty() ? null : streams;
+            });
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(JobChangeEvent event) {
+        if (event == HEARTBEAT) {
+            return SseEmitter.event().comment("keep-alive");
+        }
+        SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                .id(Long.toString(event.version()))
+                .name(event.type())
+                .data(event, MediaType.APPLICATION_JSON);
+        if (JobChangeEvent.READY.equals(event.type())) {
+            sse.reconnectTime(reconnectDelay.toMillis());
+        }
+        return sse;
+    }
+
+    private final class Subscriber {
+
+        private final String email;
+        private final SseEmitter emitter;
+        private final ArrayDeque<JobChangeEvent> pending = new ArrayDeque<>();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(String email, SseEmitter emitter) {
+            this.email = email;
+            this.emitter = emitter;
+        }
+
+        void offer(JobChangeEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                JobChangeEvent last = pending.peekLast();
+                if (last != null && event.supersedes(last)) {
+                    pending.pollLast();
+                } else if (pending.size() >= maxQueuedEvents) {
+                    slowConsumers.increment();
+                    log.debug("Closing event stream of {}: {} events undelivered", email, pending.size());
+                    closeLocked();
+                    return;
+                }
+                pending.add(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sendExecutor.execute(this::drain);
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                // a stream that is busy sending needs no keep-alive
+                if (closed || draining) {
+                    return;
+                }
+                pending.add(HEARTBEAT);
+                draining = true;
+            }
+            sendExecutor.execute(this::drain);
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closeLocked();
+            }
+        }
+
+        // completing can wait for a send that is blocked on the socket, so it never runs on the caller
+        private void closeLocked() {
+            closed = true;
+            pending.clear();
+            sendExecutor.execute(() -> {
+                remove(this);
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    log.debug("Event stream of {} was already closed: {}", email, e.getMessage());
+                }
+            });
+        }
+
+        private void drain() {
+            while (true) {
+                JobChangeEvent event;
+                synchronized (this) {
+                    event = closed ? null : pending.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(toSse(event));
+                    if (event != HEARTBEAT) {
+                        sentEvents.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away; its emitter is done, so only the registry needs cleaning up
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
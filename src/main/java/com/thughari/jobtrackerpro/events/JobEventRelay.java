@@ -0,0 +1,21 @@
+package com.thughari.jobtrackerpro.events;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel that carries committed job changes to every instance of the service, so a user's
+ * streams receive them whichever instance handled the write. Subscribers also receive their own messages.
+ */
+public interface JobEventRelay {
+
+    void publish(JobChangeEvent event);
+
+    void subscribe(Consumer<JobChangeEvent> listener);
+
+    /**
+     * Runs the listener after the relay recovers from a lost connection, since events published in the
+     * meantime never arrive. Relays that cannot lose events never call it.
+     */
+    default void onReconnect(Runnable listener) {
+    }
+}
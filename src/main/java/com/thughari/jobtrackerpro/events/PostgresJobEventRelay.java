@@ -0,0 +1,177 @@
+package com.thughari.jobtrackerpro.events;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Relay on top of Postgres LISTEN/NOTIFY, like {@code PostgresCacheInvalidationBus}: each event goes out
+ * as JSON on one channel and every instance, the publisher included, hands it to its subscribers. NOTIFY
+ * payloads must stay under 8000 bytes, so a job too large to fit is sent as {@code jobs.changed} and the
+ * client fetches it through delta sync. The listener holds its own session-mode connection outside the pool.
+ */
+@Slf4j
+public class PostgresJobEventRelay implements JobEventRelay, InitializingBean, DisposableBean {
+
+    static final String CHANNEL = "jobtracker_job_events";
+
+    static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final List<Consumer<JobChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresJobEventRelay(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper, String url, String username,
+            String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void publish(JobChangeEvent event) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, encode(event));
+        } catch (Exception e) {
+            log.error("Failed to publish {} for {}", event.type(), event.email(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<JobChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onReconnect(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        listenerThread = new Thread(this::listen, "job-event-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(POLL_TIMEOUT_MS);
+        }
+    }
+
+    String encode(JobChangeEvent event) {
+        String payload = jsonMapper.writeValueAsString(new Message(event.email(), event));
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return payload;
+        }
+        JobChangeEvent changed = JobChangeEvent.changed(event.email(), event.version(), event.stats());
+        return jsonMapper.writeValueAsString(new Message(event.email(), changed));
+    }
+
+    // the email is not part of the event's JSON, so it travels beside it
+    JobChangeEvent decode(String payload) {
+        Message message = jsonMapper.readValue(payload, Message.class);
+        JobChangeEvent event = message.event();
+        return new JobChangeEvent(message.email(), event.type(), event.version(), event.job(), event.jobId(),
+                event.stats());
+    }
+
+    private void listen() {
+        long backoff = 1000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // events sent while we were disconnected are lost
+                    reconnectListeners.forEach(this::runSafely);
+                }
+                log.info("Listening for job events on channel {}", CHANNEL);
+                backoff = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Job event listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        JobChangeEvent event;
+        try {
+            event = decode(payload);
+        } catch (Exception e) {
+            log.error("Dropping undecodable job event: {}", e.getMessage());
+            return;
+        }
+        for (Consumer<JobChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.error("Job event listener failed for {} of {}", event.type(), event.email(), e);
+            }
+        }
+    }
+
+    private void runSafely(Runnable listener) {
+        try {
+            listener.run();
+        } catch (Exception e) {
+            log.error("Job event reconnect listener failed", e);
+        }
+    }
+
+    record Message(String email, JobChangeEvent event) {
+    }
+}
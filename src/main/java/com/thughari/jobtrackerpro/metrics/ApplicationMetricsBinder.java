@@ -0,0 +1,182 @@
+package com.thughari.jobtrackerpro.metrics;
+
+import com.thughari.jobtrackerpro.config.VirtualThreadPinningMonitor;
+import com.thughari.jobtrackerpro.datasource.ReplicaRoutingDataSource;
+import com.thughari.jobtrackerpro.events.JobEventHub;
+import com.thughari.jobtrackerpro.security.BoundedPasswordEncoder;
+import com.thughari.jobtrackerpro.security.RateLimitFilter;
+import com.thughari.jobtrackerpro.service.EmailOutboxWorker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Registers meters for state that components already track themselves: executors Spring Boot does not
+ * instrument, password hashing, rate limiting, the email outbox, virtual-thread pinning, replica routing
+ * and event streams. Values are read at scrape time, so nothing here costs anything on the request path.
+ * HTTP, repository, cache, connection pool and JVM metrics come from Spring Boot's auto-configuration.
+ */
+@Component
+public class ApplicationMetricsBinder implements MeterBinder {
+
+    private final ExecutorService imageExecutor;
+    private final ThreadPoolExecutor passwordHashExecutor;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final RateLimitFilter rateLimitFilter;
+    private final ObjectProvider<EmailOutboxWorker> emailOutboxWorker;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final ObjectProvider<DataSource> dataSource;
+    private final JobEventHub jobEventHub;
+
+    public ApplicationMetricsBinder(@Qualifier("imageExecutor") ExecutorService imageExecutor,
+            @Qualifier("passwordHashExecutor") ThreadPoolExecutor passwordHashExecutor,
+            BoundedPasswordEncoder passwordEncoder, RateLimitFilter rateLimitFilter,
+            ObjectProvider<EmailOutboxWorker> emailOutboxWorker,
+            ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor,
+            ObjectProvider<DataSource> dataSource, JobEventHub jobEventHub) {
+        this.imageExecutor = imageExecutor;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.passwordEncoder = passwordEncoder;
+        this.rateLimitFilter = rateLimitFilter;
+        this.emailOutboxWorker = emailOutboxWorker;
+        this.pinningMonitor = pinningMonitor;
+        this.dataSource = dataSource;
+        this.jobEventHub = jobEventHub;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (imageExecutor instanceof ThreadPoolExecutor pool) {
+            bindExecutor(registry, "imageExecutor", pool);
+        }
+        bindExecutor(registry, "passwordHashExecutor", passwordHashExecutor);
+
+        bindPasswordHashing(registry);
+        FunctionCounter.builder("http.server.requests.rate.limited", rateLimitFilter, RateLimitFilter::getRejectedCount)
+                .description("Requests rejected by the rate limiter")
+                .register(registry);
+        emailOutboxWorker.ifAvailable(worker -> bindEmailOutbox(registry, worker));
+        pinningMonitor.ifAvailable(monitor -> {
+            FunctionCounter.builder("jvm.threads.virtual.pinned", monitor, VirtualThreadPinningMonitor::getPinnedCount)
+                    .description("Virtual threads pinned for longer than the threshold")
+                    .register(registry);
+            FunctionCounter.builder("jvm.threads.virtual.pinned.jdbc", monitor, VirtualThreadPinningMonitor::getPinnedInJdbcCount)
+                    .description("Pinned virtual threads with JDBC on the stack")
+                    .register(registry);
+        });
+        if (dataSource.getIfAvailable() instanceof ReplicaRoutingDataSource routing) {
+            bindReplicaRouting(registry, routing);
+        }
+        Gauge.builder("sse.connections", jobEventHub, JobEventHub::getConnectionCount)
+                .description("Open job event streams")
+                .register(registry);
+        FunctionCounter.builder("sse.events.sent", jobEventHub, JobEventHub::getSentEventCount)
+                .description("Job events written to streams")
+                .register(registry);
+        FunctionCounter.builder("sse.slow.consumers", jobEventHub, JobEventHub::getSlowConsumerCount)
+                .description("Streams closed because the client fell behind")
+                .register(registry);
+    }
+
+    private void bindExecutor(MeterRegistry registry, String name, ThreadPoolExecutor pool) {
+        new ExecutorServiceMetrics(pool, name, Tags.empty()).bindTo(registry);
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the queue was full")
+                .baseUnit(BaseUnits.TASKS)
+                .tag("name", name)
+                .register(registry);
+        RejectedExecutionHandler handler = pool.getRejectedExecutionHandler();
+        pool.setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            handler.rejectedExecution(task, executor);
+        });
+    }
+
+    private void bindPasswordHashing(MeterRegistry registry) {
+        hashTimer(registry, "encode", BoundedPasswordEncoder::getEncodeCount, BoundedPasswordEncoder::getMeanEncodeMillis);
+        hashTimer(registry, "match", BoundedPasswordEncoder::getMatchCount, BoundedPasswordEncoder::getMeanMatchMillis);
+        TimeGauge.builder("password.hashing.queue.wait.mean", passwordEncoder, TimeUnit.MILLISECONDS,
+                        BoundedPasswordEncoder::getMeanQueueWaitMillis)
+                .description("Mean time hashes waited for a thread since startup")
+                .register(registry);
+        FunctionCounter.builder("password.hashing.timeouts", passwordEncoder, BoundedPasswordEncoder::getTimedOutCount)
+                .description("Hashes abandoned after the timeout")
+                .register(registry);
+    }
+
+    // the encoder keeps a count and a mean, which is all a function timer needs
+    private void hashTimer(MeterRegistry registry, String operation, ToDoubleFunction<BoundedPasswordEncoder> count,
+            ToDoubleFunction<BoundedPasswordEncoder> meanMillis) {
+        FunctionTimer.builder("password.hashing", passwordEncoder, encoder -> (long) count.applyAsDouble(encoder),
+                        encoder -> count.applyAsDouble(encoder) * meanMillis.applyAsDouble(encoder), TimeUnit.MILLISECONDS)
+                .description("Password hashes computed")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private void bindEmailOutbox(MeterRegistry registry, EmailOutboxWorker worker) {
+        outboxCounter(registry, worker, "sent", EmailOutboxWorker::getSentCount);
+        outboxCounter(registry, worker, "retried", EmailOutboxWorker::getRetriedCount);
+        outboxCounter(registry, worker, "failed", EmailOutboxWorker::getFailedCount);
+        Gauge.builder("email.outbox.pending", worker, EmailOutboxWorker::getQueueDepth)
+                .description("Emails waiting to be sent")
+                .register(registry);
+        TimeGauge.builder("email.outbox.oldest.pending.age", worker, TimeUnit.SECONDS, EmailOutboxWorker::getOldestPendingAgeSeconds)
+                .description("Age of the oldest unsent email")
+                .register(registry);
+    }
+
+    private void outboxCounter(MeterRegistry registry, EmailOutboxWorker worker, String outcome,
+            ToDoubleFunction<EmailOutboxWorker> count) {
+        FunctionCounter.builder("email.outbox.deliveries", worker, count)
+                .description("Email delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // the pools themselves are instrumented by Hikari (see ReplicaDataSourceConfig)
+    private void bindReplicaRouting(MeterRegistry registry, ReplicaRoutingDataSource routing) {
+        String primary = routing.getPrimary().getPoolName();
+        readOnlyCounter(registry, routing, ReplicaRoutingDataSource::getPinnedReadCount, primary, "pinned");
+        readOnlyCounter(registry, routing, ReplicaRoutingDataSource::getFallbackReadCount, primary, "no_replica");
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            String pool = replica.getPool().getPoolName();
+            readOnlyCounter(registry, replica, ReplicaRoutingDataSource.Replica::getReadCount, pool, "replica");
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.SECONDS, ReplicaRoutingDataSource.Replica::getLagSeconds)
+                    .description("Replication lag at the last check")
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("1 while the replica is in rotation")
+                    .tag("pool", pool)
+                    .register(registry);
+        }
+    }
+
+    private static <T> void readOnlyCounter(MeterRegistry registry, T source, ToDoubleFunction<T> count, String pool,
+            String reason) {
+        FunctionCounter.builder("datasource.read.only.connections", source, count)
+                .description("Read-only connections by target pool and reason")
+                .tags("pool", pool, "reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.thughari.jobtrackerpro.metrics;
+
+import com.thughari.jobtrackerpro.cache.TwoTierCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import org.springframework.boot.cache.metrics.CacheMeterBinderProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets Spring Boot's cache metrics cover {@link TwoTierCache}: the standard {@code cache.*} meters read
+ * the Caffeine L1's statistics, plus the L1 misses that the shared L2 store answered.
+ */
+@Component
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return new TwoTierCacheMetrics(cache, tags);
+    }
+
+    static final class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+        TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            return getCache().getNativeCache().estimatedSize();
+        }
+
+        @Override
+        protected long hitCount() {
+            return getCache().stats().hitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            return getCache().stats().missCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return getCache().stats().evictionCount();
+        }
+
+        // puts are not counted separately; like Micrometer's Caffeine binder, report loaded values
+        @Override
+        protected long putCount() {
+            return getCache().stats().loadCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter.builder("cache.l2.hits", getCache(), TwoTierCache::sharedHitCount)
+                    .description("L1 misses served from the shared L2 store")
+                    .tags(getTagsWithCacheName())
+                    .register(registry);
+            Gauge.builder("cache.weight", getCache(),
+                            cache -> cache.getNativeCache().policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                    .description("Approximate L1 weight (KB for weighted caches, else entries)")
+                    .tags(getTagsWithCacheName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.thughari.jobtrackerpro.repo;
+
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DashboardRollupRepository extends JpaRepository<DashboardRollup, String> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM DashboardRollup r WHERE r.userEmail = :email")
+	Optional<DashboardRollup> findForUpdate(@Param("email") String email);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM DashboardRollup r WHERE r.userEmail IN :emails")
+	List<DashboardRollup> findAllForUpdate(@Param("emails") Collection<String> emails);
+
+	@Query("SELECT r.dataVersion FROM DashboardRollup r WHERE r.userEmail = :email")
+	Optional<Long> findDataVersion(@Param("email") String email);
+
+	@Query("SELECT r.userEmail FROM DashboardRollup r")
+	List<String> findAllUserEmails();
+
+	// run before the tombstones deleted before the cutoff are purged
+	@Modifying
+	@Query("""
+			    UPDATE DashboardRollup r SET r.tombstoneFloor = (
+			        SELECT MAX(t.changeVersion) FROM JobTombstone t
+			        WHERE t.user.email = r.userEmail AND t.deletedAt < :cutoff)
+			    WHERE r.userEmail IN (SELECT t.user.email FROM JobTombstone t WHERE t.deletedAt < :cutoff)
+			""")
+	int raiseTombstoneFloors(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,37 @@
+package com.thughari.jobtrackerpro.repo;
+
+import com.thughari.jobtrackerpro.entity.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+	// SKIP LOCKED (-2): concurrent workers each claim different rows instead of queueing on the same ones
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = com.thughari.jobtrackerpro.entity.EmailOutboxMessage.Status.PENDING "
+			+ "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+	List<EmailOutboxMessage> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+	long countByStatus(EmailOutboxMessage.Status status);
+
+	@Query("SELECT MIN(m.createdAt) FROM EmailOutboxMessage m WHERE m.status = com.thughari.jobtrackerpro.entity.EmailOutboxMessage.Status.PENDING")
+	Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.thughari.jobtrackerpro.entity.EmailOutboxMessage.Status.SENT AND m.sentAt < :cutoff")
+	int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
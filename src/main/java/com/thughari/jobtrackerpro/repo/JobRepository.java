@@ -1,29 +1,185 @@
 package com.thughari.jobtrackerpro.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.DateBucketCount;
+import com.thughari.jobtrackerpro.dto.JobCountBucket;
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.dto.JobRollupState;
+import com.thughari.jobtrackerpro.dto.StatusCount;
 import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.JobStatus;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface JobRepository extends JpaRepository<Job, UUID> {
 
 	List<Job> findByUserEmailOrderByDateDesc(String userEmail);
 
+	Optional<Job> findByIdAndUserEmail(UUID id, String userEmail);
+
+	/**
+	 * JPQL constructor expression for read-only listings: rows are selected straight into
+	 * {@link JobDTO}, with no entity hydration, persistence-context tracking or property copying.
+	 */
+	String JOB_DTO = """
+			new com.thughari.jobtrackerpro.dto.JobDTO(j.id, j.company, j.role, j.location, j.date, j.status,
+			    j.stage, j.stageStatus, j.salaryMin, j.salaryMax, j.url, j.notes)
+			""";
+
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email
+			    ORDER BY j.date DESC, j.id DESC
+			""")
+	List<JobDTO> findDtosByUserEmail(@Param("email") String email);
+
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.id IN :ids
+			""")
+	List<JobDTO> findDtosByUserEmailAndIdIn(@Param("email") String email, @Param("ids") Collection<UUID> ids);
+
+	// NULLS FIRST is Postgres's own order for DESC, so the (user_id, date DESC, id DESC) index still serves it
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email
+			    ORDER BY j.date DESC NULLS FIRST, j.id DESC
+			""")
+	List<JobDTO> findFirstPage(@Param("email") String email, Limit limit);
+
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email
+			      AND (j.date < :date OR (j.date = :date AND j.id < :id))
+			    ORDER BY j.date DESC NULLS FIRST, j.id DESC
+			""")
+	List<JobDTO> findPageAfter(@Param("email") String email, @Param("date") LocalDate date,
+			@Param("id") UUID id, Limit limit);
+
+	// the cursor is still among the undated jobs, which sort before every dated one
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email
+			      AND (j.date IS NOT NULL OR j.id < :id)
+			    ORDER BY j.date DESC NULLS FIRST, j.id DESC
+			""")
+	List<JobDTO> findPageAfterUndated(@Param("email") String email, @Param("id") UUID id, Limit limit);
+
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.changeVersion > :since AND j.changeVersion <= :upTo
+			""")
+	List<JobDTO> findChangedDtos(@Param("email") String email, @Param("since") long since, @Param("upTo") long upTo);
+
+	@Query("""
+			    SELECT new com.thughari.jobtrackerpro.dto.JobRollupState(j.id, j.status, j.stage, j.date)
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.id IN :ids
+			""")
+	List<JobRollupState> findRollupStates(@Param("email") String email, @Param("ids") Collection<UUID> ids);
+
+	// one statement for the whole batch, like deleteOwned; a null parameter leaves that column as it is
+	@Modifying
+	@Query("""
+			    UPDATE Job j
+			    SET j.status = COALESCE(:status, j.status), j.stage = COALESCE(:stage, j.stage),
+			        j.stageStatus = COALESCE(:stageStatus, j.stageStatus), j.changeVersion = :version
+			    WHERE j.user.email = :email AND j.id IN :ids
+			""")
+	int updateStatusAndStage(@Param("email") String email, @Param("ids") Collection<UUID> ids,
+			@Param("status") JobStatus status, @Param("stage") Integer stage,
+			@Param("stageStatus") String stageStatus, @Param("version") long version);
+
+	@Modifying
+	@Query("DELETE FROM Job j WHERE j.user.email = :email AND j.id IN :ids")
+	int deleteOwned(@Param("email") String email, @Param("ids") Collection<UUID> ids);
+
+	// server-side cursor; callers must consume the stream inside a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT " + JOB_DTO + """
+			    FROM Job j
+			    WHERE j.user.email = :email
+			    ORDER BY j.date DESC, j.id DESC
+			""")
+	Stream<JobDTO> streamByUserEmail(@Param("email") String email);
+
 	@Query("""
 			    SELECT new com.thughari.jobtrackerpro.dto.DashboardStatsDTO(
 			        COUNT(j),
-			        SUM(CASE WHEN j.status NOT IN ('Rejected', 'Offer Received') THEN 1 ELSE 0 END),
-			        SUM(CASE WHEN j.status = 'Interview Scheduled' OR j.stage >= 3 THEN 1 ELSE 0 END),
-			        SUM(CASE WHEN j.status = 'Offer Received' THEN 1 ELSE 0 END)
+			        COALESCE(SUM(CASE WHEN j.status NOT IN (com.thughari.jobtrackerpro.entity.JobStatus.REJECTED, com.thughari.jobtrackerpro.entity.JobStatus.OFFER_RECEIVED) THEN 1 ELSE 0 END), 0),
+			        COALESCE(SUM(CASE WHEN j.status = com.thughari.jobtrackerpro.entity.JobStatus.INTERVIEW_SCHEDULED OR j.stage >= 3 THEN 1 ELSE 0 END), 0),
+			        COALESCE(SUM(CASE WHEN j.status = com.thughari.jobtrackerpro.entity.JobStatus.OFFER_RECEIVED THEN 1 ELSE 0 END), 0)
 			    )
 			    FROM Job j
-			    WHERE j.userEmail = :email
+			    WHERE j.user.email = :email AND j.date BETWEEN :from AND :to
+			""")
+	DashboardStatsDTO getStatsInRange(@Param("email") String email, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	@Query("""
+			    SELECT COUNT(j) FROM Job j
+			    WHERE j.user.email = :email AND j.date BETWEEN :from AND :to AND j.stage >= 3
+			""")
+	long countInterviewedInRange(@Param("email") String email, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	@Query("""
+			    SELECT new com.thughari.jobtrackerpro.dto.StatusCount(j.status, COUNT(j))
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.date BETWEEN :from AND :to AND j.status IS NOT NULL
+			    GROUP BY j.status
+			    ORDER BY COUNT(j) DESC
 			""")
-	DashboardStatsDTO getStatsByEmail(@Param("email") String email);
+	List<StatusCount> countByStatusInRange(@Param("email") String email, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	@Query("""
+			    SELECT new com.thughari.jobtrackerpro.dto.DateBucketCount(YEAR(j.date), MONTH(j.date), COUNT(j))
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.date BETWEEN :from AND :to
+			    GROUP BY YEAR(j.date), MONTH(j.date)
+			""")
+	List<DateBucketCount> countByMonthInRange(@Param("email") String email, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	// the month is kept in the grouping so callers can resolve the ISO week-based year
+	@Query("""
+			    SELECT new com.thughari.jobtrackerpro.dto.DateBucketCount(
+			        YEAR(j.date), MONTH(j.date), EXTRACT(WEEK FROM j.date), COUNT(j)
+			    )
+			    FROM Job j
+			    WHERE j.user.email = :email AND j.date BETWEEN :from AND :to
+			    GROUP BY YEAR(j.date), MONTH(j.date), EXTRACT(WEEK FROM j.date)
+			""")
+	List<DateBucketCount> countByWeekInRange(@Param("email") String email, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	@Query("""
+			    SELECT new com.thughari.jobtrackerpro.dto.JobCountBucket(
+			        j.user.email, j.status, j.stage, YEAR(j.date), MONTH(j.date), COUNT(j)
+			    )
+			    FROM Job j
+			    WHERE j.user.email IN :emails
+			    GROUP BY j.user.email, j.status, j.stage, YEAR(j.date), MONTH(j.date)
+			""")
+	List<JobCountBucket> countBuckets(@Param("emails") Collection<String> emails);
+
+	@Query("SELECT DISTINCT j.user.email FROM Job j")
+	List<String> findDistinctUserEmails();
 
 }
\ No newline at end of file
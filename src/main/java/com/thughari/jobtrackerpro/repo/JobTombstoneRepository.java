@@ -0,0 +1,35 @@
+package com.thughari.jobtrackerpro.repo;
+
+import com.thughari.jobtrackerpro.entity.JobTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface JobTombstoneRepository extends JpaRepository<JobTombstone, UUID> {
+
+	// set-based: one statement however many jobs are deleted, and only the owner's jobs qualify
+	@Modifying
+	@Query("""
+			    INSERT INTO JobTombstone (jobId, user, changeVersion, deletedAt)
+			    SELECT j.id, j.user, :version, :deletedAt FROM Job j
+			    WHERE j.user.email = :email AND j.id IN :ids
+			""")
+	int insertForJobs(@Param("email") String email, @Param("ids") Collection<UUID> ids,
+			@Param("version") long version, @Param("deletedAt") LocalDateTime deletedAt);
+
+	@Query("""
+			    SELECT t.jobId FROM JobTombstone t
+			    WHERE t.user.email = :email AND t.changeVersion > :since AND t.changeVersion <= :upTo
+			""")
+	List<UUID> findDeletedJobIds(@Param("email") String email, @Param("since") long since, @Param("upTo") long upTo);
+
+	@Modifying
+	@Query("DELETE FROM JobTombstone t WHERE t.deletedAt < :cutoff")
+	int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -10,6 +10,7 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
+    long deleteByToken(String token);
     void deleteByUser(User user);
 	Optional<PasswordResetToken> findByUser(User user);
 }
\ No newline at end of file
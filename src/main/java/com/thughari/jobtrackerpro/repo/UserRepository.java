@@ -2,9 +2,26 @@ package com.thughari.jobtrackerpro.repo;
 
 import com.thughari.jobtrackerpro.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    boolean existsByImageUrl(String imageUrl);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.imageUrl = :imageUrl WHERE u.id = :id AND (u.imageUrl IS NULL OR u.imageUrl = '')")
+    int setImageUrlIfAbsent(@Param("id") UUID id, @Param("imageUrl") String imageUrl);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND COALESCE(u.password, '') = COALESCE(:oldHash, '')")
+    int replacePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+}
@@ -0,0 +1,34 @@
+package com.thughari.jobtrackerpro.search;
+
+import com.thughari.jobtrackerpro.repo.JobRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process engine for databases without a usable full-text index (H2, MySQL). Each user's
+ * {@link InvertedIndex} is built on first search and kept in the {@code jobSearchIndex} cache,
+ * which job writes evict alongside {@code jobData}.
+ */
+public class InMemoryJobSearchIndex implements JobSearchIndex {
+
+    public static final String CACHE_NAME = "jobSearchIndex";
+
+    private final JobRepository jobRepository;
+    private final CacheManager cacheManager;
+
+    public InMemoryJobSearchIndex(JobRepository jobRepository, CacheManager cacheManager) {
+        this.jobRepository = jobRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public List<UUID> search(String email, SearchQuery query, int limit) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        InvertedIndex index = cache.get(email,
+                () -> InvertedIndex.build(jobRepository.findByUserEmailOrderByDateDesc(email)));
+        return index.search(query, limit);
+    }
+}
@@ -0,0 +1,154 @@
+package com.thughari.jobtrackerpro.search;
+
+import com.thughari.jobtrackerpro.entity.Job;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Immutable inverted index over one user's jobs. Field weights follow Postgres' default
+ * {@code ts_rank} weights for the A/B/C labels used by {@link PostgresJobSearchIndex}, so both
+ * engines rank results alike: company and role 1.0, location 0.4, notes 0.2.
+ */
+public final class InvertedIndex {
+
+    private static final float COMPANY_ROLE = 1.0f;
+    private static final float LOCATION = 0.4f;
+    private static final float NOTES = 0.2f;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private final UUID[] ids;
+    private final long[] dates;
+    // sorted so that a prefix is a contiguous key range
+    private final TreeMap<String, Posting> postings;
+    private final int postingCount;
+
+    private InvertedIndex(UUID[] ids, long[] dates, TreeMap<String, Posting> postings, int postingCount) {
+        this.ids = ids;
+        this.dates = dates;
+        this.postings = postings;
+        this.postingCount = postingCount;
+    }
+
+    public static InvertedIndex build(List<Job> jobs) {
+        UUID[] ids = new UUID[jobs.size()];
+        long[] dates = new long[jobs.size()];
+        Map<String, Map<Integer, Float>> terms = new HashMap<>();
+        for (int doc = 0; doc < jobs.size(); doc++) {
+            Job job = jobs.get(doc);
+            ids[doc] = job.getId();
+            dates[doc] = job.getDate() == null ? Long.MIN_VALUE : job.getDate().toEpochDay();
+            add(terms, doc, job.getCompany(), COMPANY_ROLE);
+            add(terms, doc, job.getRole(), COMPANY_ROLE);
+            add(terms, doc, job.getLocation(), LOCATION);
+            add(terms, doc, job.getNotes(), NOTES);
+        }
+
+        TreeMap<String, Posting> postings = new TreeMap<>();
+        int postingCount = 0;
+        for (Map.Entry<String, Map<Integer, Float>> term : terms.entrySet()) {
+            postings.put(term.getKey(), Posting.of(term.getValue()));
+            postingCount += term.getValue().size();
+        }
+        return new InvertedIndex(ids, dates, postings, postingCount);
+    }
+
+    private static void add(Map<String, Map<Integer, Float>> terms, int doc, String text, float weight) {
+        for (String token : SearchQuery.tokenize(text)) {
+            terms.computeIfAbsent(token, t -> new HashMap<>()).merge(doc, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Every term must match (exactly or as a prefix of an indexed token); exact matches score
+     * higher than prefix matches, ties go to the most recent job.
+     */
+    public List<UUID> search(SearchQuery query, int limit) {
+        float[] total = null;
+        for (String term : query.terms()) {
+            float[] scores = new float[ids.length];
+            boolean any = false;
+            for (Map.Entry<String, Posting> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                float factor = entry.getKey().length() == term.length() ? 1f : PREFIX_FACTOR;
+                Posting posting = entry.getValue();
+                for (int i = 0; i < posting.docs.length; i++) {
+                    int doc = posting.docs[i];
+                    float score = score(posting.weights[i]) * factor;
+                    if (score > scores[doc]) {
+                        scores[doc] = score;
+                        any = true;
+                    }
+                }
+            }
+            if (!any) {
+                return List.of();
+            }
+            if (total == null) {
+                total = scores;
+            } else {
+                for (int doc = 0; doc < total.length; doc++) {
+                    total[doc] = total[doc] > 0 && scores[doc] > 0 ? total[doc] + scores[doc] : 0;
+                }
+            }
+        }
+        return top(total, limit);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Rough retained size, for cache weighing.
+     */
+    public int estimateKilobytes() {
+        long bytes = 64L * ids.length + 80L * postings.size() + 8L * postingCount;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes / 1024));
+    }
+
+    // dampened term frequency, as in ts_rank
+    private static float score(float weight) {
+        return (float) Math.log1p(weight);
+    }
+
+    private List<UUID> top(float[] scores, int limit) {
+        List<Integer> hits = new ArrayList<>();
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                hits.add(doc);
+            }
+        }
+        hits.sort((a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Long.compare(dates[b], dates[a]);
+        });
+        List<UUID> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            result.add(ids[hits.get(i)]);
+        }
+        return result;
+    }
+
+    private static final class Posting {
+        private final int[] docs;
+        private final float[] weights;
+
+        private Posting(int[] docs, float[] weights) {
+            this.docs = docs;
+            this.weights = weights;
+        }
+
+        static Posting of(Map<Integer, Float> byDoc) {
+            int[] docs = byDoc.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] weights = new float[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                weights[i] = byDoc.get(docs[i]);
+            }
+            return new Posting(docs, weights);
+        }
+    }
+}
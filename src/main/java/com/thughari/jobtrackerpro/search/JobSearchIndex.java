@@ -0,0 +1,16 @@
+package com.thughari.jobtrackerpro.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text index over a user's jobs (company, role, location and notes).
+ */
+public interface JobSearchIndex {
+
+    /**
+     * Ids of the user's jobs matching every term, where each term also matches as a prefix,
+     * best match first.
+     */
+    List<UUID> search(String email, SearchQuery query, int limit);
+}
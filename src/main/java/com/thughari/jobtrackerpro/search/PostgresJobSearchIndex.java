@@ -0,0 +1,72 @@
+package com.thughari.jobtrackerpro.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres engine: a GIN expression index over a weighted {@code tsvector} of the searchable columns,
+ * queried with prefix {@code tsquery} terms and ranked by {@code ts_rank}. An expression index needs
+ * no extra column or trigger, and is created {@code CONCURRENTLY} on startup so writes are not blocked.
+ * The {@code simple} configuration is used because company names and notes are not reliably English.
+ * Punctuation is replaced with spaces before the parser sees the text: on its own the parser would keep
+ * {@code node.js}, {@code acme.com} or an email address as one lexeme, while {@link SearchQuery} splits
+ * them into words, as the in-memory index does.
+ */
+@Slf4j
+public class PostgresJobSearchIndex implements JobSearchIndex, ApplicationRunner {
+
+    static final String INDEX_NAME = "idx_jobs_search_v2";
+
+    // indexed the whole punctuated text; superseded because its lexemes did not match query terms
+    private static final String LEGACY_INDEX = "idx_jobs_search";
+
+    // must stay textually identical to the indexed expression for the planner to use the index
+    static final String DOCUMENT = "(" + field("company", 'A') + " || " + field("role", 'A')
+            + " || " + field("location", 'B') + " || " + field("notes", 'C') + ")";
+
+    private static final String SEARCH_SQL = """
+            SELECT id FROM (
+                SELECT id, date, ts_rank(%1$s, query) AS rank
+                FROM jobs, to_tsquery('simple', ?) AS query
+                WHERE user_id = (SELECT u.id FROM users u WHERE u.email = ?)
+                  AND %1$s @@ query
+            ) hits
+            ORDER BY rank DESC, date DESC NULLS LAST
+            LIMIT ?
+            """.formatted(DOCUMENT);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresJobSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME
+                    + " ON jobs USING GIN (" + DOCUMENT + ")");
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + LEGACY_INDEX);
+        } catch (DataAccessException e) {
+            log.warn("Could not create full-text index {}: {}", INDEX_NAME, e.getMessage());
+        }
+    }
+
+    @Override
+    public List<UUID> search(String email, SearchQuery query, int limit) {
+        return jdbcTemplate.query(SEARCH_SQL, (rs, i) -> rs.getObject(1, UUID.class),
+                query.toTsQuery(), email, limit);
+    }
+
+    private static String field(String column, char weight) {
+        return "setweight(to_tsvector('simple', regexp_replace(coalesce(" + column + ", ''), '[[:punct:]]+', ' ', 'g')), '"
+                + weight + "')";
+    }
+}
@@ -0,0 +1,52 @@
+package com.thughari.jobtrackerpro.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalized search terms. Terms are split on anything that is not a letter or digit and
+ * lower-cased, so user input never reaches a query parser. Both engines index documents as the same
+ * words: {@link InvertedIndex} with this tokenizer, and {@link PostgresJobSearchIndex} by stripping
+ * punctuation before Postgres's parser runs.
+ */
+public record SearchQuery(List<String> terms) {
+
+    static final int MAX_TERMS = 8;
+    static final int MAX_TERM_LENGTH = 64;
+
+    public static SearchQuery parse(String text) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        List<String> distinct = terms.stream().distinct().limit(MAX_TERMS).toList();
+        return new SearchQuery(distinct);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT);
+                tokens.add(token);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Postgres tsquery form: every term as a prefix match, all required ({@code acme:* & dev:*}).
+     */
+    String toTsQuery() {
+        return String.join(" & ", terms.stream().map(term -> term + ":*").toList());
+    }
+}
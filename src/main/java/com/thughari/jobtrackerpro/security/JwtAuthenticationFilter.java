@@ -32,10 +32,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        if (jwtUtils.validateToken(token)) {
-            String email = jwtUtils.getEmailFromToken(token);
-            
+        String email = jwtUtils.getVerifiedEmail(authHeader.substring(7));
+        if (email != null) {
             UsernamePasswordAuthenticationToken authentication = 
                 new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
                 
@@ -1,24 +1,49 @@
 package com.thughari.jobtrackerpro.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 public class JwtUtils {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private static final MessageDigest SHA_256 = newSha256();
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
 
-    @Value("${app.jwt.expiration-ms}")
-    private int jwtExpirationMs;
+    // verified tokens keyed by SHA-256 digest; each entry expires together with its token
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public JwtUtils(@Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.expiration-ms}") int jwtExpirationMs,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
     }
 
     public String generateToken(String email) {
@@ -26,21 +51,65 @@ public class JwtUtils {
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its subject, or {@code null} if the token is invalid or expired.
+     * Repeat calls with the same token are served from the verified-token cache.
+     */
+    public String getVerifiedEmail(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.email();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        // only tokens with an expiry are cached, so an entry can never outlive its token
+        if (claims.getExpiration() != null && claims.getSubject() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant()));
+        }
+        return claims.getSubject();
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return getVerifiedEmail(authToken) != null;
+    }
+
+    private static String digest(String token) {
+        MessageDigest sha256;
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (Exception e) {
-            return false;
+            // cloning skips the provider lookup that getInstance performs on every call
+            sha256 = (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            sha256 = newSha256();
         }
+        byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(String email, Instant expiresAt) {
     }
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@ import org.springframework.security.web.authentication.SimpleUrlAuthenticationSu
 import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 @Slf4j
@@ -59,26 +60,35 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
 			dataChanged = true;
 		}
 
+		if (dataChanged) {
+			userRepository.save(user);
+		}
+
 		if (user.getImageUrl() == null || user.getImageUrl().isEmpty()) {
 			if (userInfo.imageUrl() != null && !userInfo.imageUrl().isEmpty()) {
-				try {
-					String r2Url = storageService.uploadFromUrl(userInfo.imageUrl(), user.getId().toString());
-					user.setImageUrl(r2Url);
-					dataChanged = true;
-				} catch (Exception e) {
-					log.error("Failed to sync social image: " + e.getMessage());
-				}
+				syncSocialImage(user.getId(), userInfo.imageUrl());
 			}
 		}
 
-		if (dataChanged) {
-			userRepository.save(user);
-		}
-
 		String token = jwtUtils.generateToken(user.getEmail());
 		getRedirectStrategy().sendRedirect(request, response, uiUrl + "/login-success?token=" + token);
 	}
 
+	// the login redirect does not wait for the copy; the avatar is set once it is in R2, unless the user picked one meanwhile
+	private void syncSocialImage(UUID userId, String imageUrl) {
+		try {
+			storageService.uploadFromUrl(imageUrl).whenComplete((r2Url, error) -> {
+				if (error != null) {
+					log.error("Failed to sync social image: " + (error.getCause() != null ? error.getCause() : error).getMessage());
+				} else if (userRepository.setImageUrlIfAbsent(userId, r2Url) == 0 && !userRepository.existsByImageUrl(r2Url)) {
+					storageService.deleteFile(r2Url);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.error("Failed to sync social image: " + e.getMessage());
+		}
+	}
+
 	private UserInfo extractUserInfo(String provider, Map<String, Object> attributes) {
 		String email = "";
 		String name = "";
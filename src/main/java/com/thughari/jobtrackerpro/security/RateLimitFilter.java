@@ -0,0 +1,270 @@
+package com.thughari.jobtrackerpro.security;
+
+import com.thughari.jobtrackerpro.dto.ErrorResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles the endpoints that cost BCrypt work, mail or R2 traffic, per client IP and per account.
+ * Runs in the security chain right after JWT authentication, so an over-limit request is answered with
+ * a 429 before it reaches any controller, database query or password hash. Limits are written as
+ * {@code <requests>/<period>}, e.g. {@code 10/5m}.
+ * <p>
+ * The per-IP key is the address the outermost trusted proxy saw: with {@code trusted-proxies} set to N it
+ * is the N-th {@code X-Forwarded-For} entry from the right, since everything left of it is written by the
+ * client. With 0 the socket peer is used and the header is ignored.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // a login body is two short strings; anything larger is not worth parsing
+    private static final int MAX_LOGIN_BODY = 16 * 1024;
+
+    private enum Account { NONE, JSON_EMAIL, EMAIL_PARAM, PRINCIPAL }
+
+    private record Rule(RateLimiter perIp, RateLimiter perAccount, Account account) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final int trustedProxies;
+    private final Map<String, Rule> rules;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(JsonMapper jsonMapper,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${app.rate-limit.trusted-proxies:0}") int trustedProxies,
+            @Value("${app.rate-limit.login.per-ip:30/1m}") String loginPerIp,
+            @Value("${app.rate-limit.login.per-account:10/5m}") String loginPerAccount,
+            @Value("${app.rate-limit.signup.per-ip:5/10m}") String signupPerIp,
+            @Value("${app.rate-limit.forgot-password.per-ip:5/15m}") String forgotPerIp,
+            @Value("${app.rate-limit.forgot-password.per-account:3/15m}") String forgotPerAccount,
+            @Value("${app.rate-limit.reset-password.per-ip:10/15m}") String resetPerIp,
+            @Value("${app.rate-limit.profile.per-ip:30/10m}") String profilePerIp,
+            @Value("${app.rate-limit.profile.per-account:10/10m}") String profilePerAccount) {
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        if (trustedProxies < 0) {
+            throw new IllegalArgumentException("app.rate-limit.trusted-proxies must not be negative, was: " + trustedProxies);
+        }
+        this.trustedProxies = trustedProxies;
+        this.rules = Map.of(
+                "POST /api/auth/login", new Rule(limiter(loginPerIp, maxKeys), limiter(loginPerAccount, maxKeys), Account.JSON_EMAIL),
+                "POST /api/auth/signup", new Rule(limiter(signupPerIp, maxKeys), null, Account.NONE),
+                "POST /api/auth/forgot-password", new Rule(limiter(forgotPerIp, maxKeys), limiter(forgotPerAccount, maxKeys), Account.EMAIL_PARAM),
+                "POST /api/auth/reset-password", new Rule(limiter(resetPerIp, maxKeys), null, Account.NONE),
+                "PUT /api/auth/profile", new Rule(limiter(profilePerIp, maxKeys), limiter(profilePerAccount, maxKeys), Account.PRINCIPAL));
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Rule rule = rule(request);
+
+        long wait = rule.perIp().tryAcquire(clientAddress(request));
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+
+        if (rule.account() == Account.JSON_EMAIL) {
+            byte[] body = request.getInputStream().readNBytes(MAX_LOGIN_BODY + 1);
+            if (body.length > MAX_LOGIN_BODY) {
+                writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Request body is too large.");
+                return;
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        String account = account(rule.account(), request);
+        if (account != null && !account.isBlank()) {
+            wait = rule.perAccount().tryAcquire(account.trim().toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Rule rule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return rules.get(request.getMethod() + " " + path);
+    }
+
+    /**
+     * Reads the container's own request: the forwarded-header filter replaces the remote address with the
+     * leftmost {@code X-Forwarded-For} entry and hides the header, and that entry is whatever the client sent.
+     */
+    String clientAddress(HttpServletRequest request) {
+        ServletRequest original = request;
+        while (original instanceof ServletRequestWrapper wrapper) {
+            original = wrapper.getRequest();
+        }
+        HttpServletRequest container = (HttpServletRequest) original;
+        if (trustedProxies == 0) {
+            return container.getRemoteAddr();
+        }
+        List<String> hops = new ArrayList<>();
+        for (String header : Collections.list(container.getHeaders("X-Forwarded-For"))) {
+            for (String hop : header.split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        // fewer entries than proxies: the request did not come through all of them, so the peer is the client
+        return hops.size() < trustedProxies ? container.getRemoteAddr() : hops.get(hops.size() - trustedProxies);
+    }
+
+    private String account(Account source, HttpServletRequest request) {
+        return switch (source) {
+            case NONE -> null;
+            case EMAIL_PARAM -> request.getParameter("email");
+            case PRINCIPAL -> {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                yield authentication == null ? null : authentication.getName();
+            }
+            case JSON_EMAIL -> {
+                try {
+                    yield jsonMapper.readTree(request.getInputStream()).path("email").asString(null);
+                } catch (JacksonException | IOException e) {
+                    // malformed bodies are rejected by the controller
+                    yield null;
+                }
+            }
+        };
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        rejected.increment();
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please try again later.");
+    }
+
+    // written here rather than via sendError, whose /error dispatch would be answered by the auth entry point
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    private static RateLimiter limiter(String limit, long maxKeys) {
+        int slash = limit.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must look like <requests>/<period>, was: " + limit);
+        }
+        return new RateLimiter(Integer.parseInt(limit.substring(0, slash).trim()),
+                DurationStyle.detectAndParse(limit.substring(slash + 1).trim()), maxKeys);
+    }
+
+    /** Replays a body that was read to find the account, for the controller to read again. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the body is already in memory, so it is all available as soon as a listener is set
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.thughari.jobtrackerpro.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client (IP address, account), allowing {@code capacity} requests per
+ * {@code period} with bursts of up to {@code capacity}. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (the generic cell rate algorithm), updated with a
+ * CAS loop, so checks never lock. Buckets live in a bounded Caffeine cache and are dropped after a
+ * {@code period} without requests; by then they would have refilled anyway, so eviction loses nothing.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(int capacity, Duration period, long maxKeys) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.intervalNanos = period.toNanos() / capacity;
+        this.toleranceNanos = intervalNanos * (capacity - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    /**
+     * Takes a token from {@code key}'s bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - toleranceNanos - intervalNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -13,14 +13,22 @@ import com.thughari.jobtrackerpro.security.JwtUtils;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 @Transactional
 public class AuthService {
 
@@ -37,18 +45,23 @@ public class AuthService {
     
     private final PasswordResetTokenRepository tokenRepository;
     private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
     		JwtUtils jwtUtils, StorageService storageService, 
-    		PasswordResetTokenRepository tokenRepository, EmailService emailService) {
+    		PasswordResetTokenRepository tokenRepository, EmailService emailService,
+    		PlatformTransactionManager transactionManager) {
     	this.userRepository = userRepository;
     	this.passwordEncoder = passwordEncoder;
     	this.jwtUtils = jwtUtils;
     	this.storageService = storageService;
     	this.tokenRepository=tokenRepository;
     	this.emailService=emailService;
+    	this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    // no surrounding transaction: a DB connection must not be held while the password is hashed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse registerUser(AuthRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
         	throw new UserAlreadyExistsException("Email already in use");
@@ -65,6 +78,7 @@ public class AuthService {
         return new AuthResponse(token);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse loginUser(AuthRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("Login failed! User not found"));
@@ -72,6 +86,7 @@ public class AuthService {
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Login failed! Invalid password");
         }
+        upgradePasswordHash(user, request.getPassword());
 
         String token = jwtUtils.generateToken(user.getEmail());
         return new AuthResponse(token);
@@ -90,10 +105,11 @@ public class AuthService {
 
         tokenRepository.save(tokenEntity);
 
-        emailService.sendResetEmail(user.getEmail(), tokenEntity.getToken());
+        emailService.enqueueResetEmail(user.getEmail(), tokenEntity.getToken());
     }
 
-    
+    // hashed outside any transaction; only the token use and the new hash are written in one
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetPassword(String token, String newPassword) {
     	if (newPassword == null || newPassword.trim().isEmpty()) {
     		throw new IllegalArgumentException("Password cannot be empty");
@@ -111,10 +127,14 @@ public class AuthService {
     	}
 
     	User user = resetToken.getUser();
-    	user.setPassword(passwordEncoder.encode(newPassword));
-    	userRepository.save(user);
-
-    	tokenRepository.delete(resetToken);
+    	String newHash = passwordEncoder.encode(newPassword);
+    	transactionTemplate.executeWithoutResult(status -> {
+    		// a token can only be used once, even by concurrent requests
+    		if (tokenRepository.deleteByToken(token) == 0) {
+    			throw new IllegalArgumentException("Invalid token");
+    		}
+    		storePasswordHash(user, newHash);
+    	});
     }
 
     @Transactional(readOnly = true)
@@ -124,6 +144,7 @@ public class AuthService {
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(String email, ChangePasswordRequest request) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -140,40 +161,69 @@ public class AuthService {
             }
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        storePasswordHash(user, passwordEncoder.encode(request.getNewPassword()));
     }
     
     
-    public UserProfileResponse updateProfileAtomic(String email, String name, String imageUrl, MultipartFile file) {
+    // no surrounding transaction: a DB connection must not be held while the image is uploaded. The profile
+    // is saved once the upload completes, on the storage client's thread, so no request thread waits for R2.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<UserProfileResponse> updateProfileAtomic(String email, String name, String imageUrl,
+            MultipartFile file) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         String oldImageUrl = user.getImageUrl();
-        String newR2Url = null;
+        CompletableFuture<String> upload = CompletableFuture.completedFuture(null);
 
         user.setName(name);
 
         if (file != null && !file.isEmpty()) {
-            newR2Url = storageService.uploadFile(file, user.getId().toString());
+            upload = storageService.uploadFile(file);
         }
         else if (imageUrl != null && !imageUrl.isEmpty()) {
         	
         	if (imageUrl.startsWith(cloudFlarePublicUrl) || imageUrl.contains(baseUrl)) {
-        		newR2Url = imageUrl;
+        		upload = CompletableFuture.completedFuture(imageUrl);
            } else {
-        	   newR2Url = storageService.uploadFromUrl(imageUrl, user.getId().toString());
+        	   upload = storageService.uploadFromUrl(imageUrl);
            }
         }
-        if (newR2Url != null) {
-            if (oldImageUrl != null && !oldImageUrl.equals(newR2Url)) {
+
+        return upload.thenApply(newR2Url -> {
+            if (newR2Url != null) {
+                user.setImageUrl(newR2Url);
+            }
+
+            userRepository.save(user);
+            // stored images are shared by content hash; only delete one no other profile still shows
+            if (newR2Url != null && oldImageUrl != null && !oldImageUrl.equals(newR2Url)
+                    && !userRepository.existsByImageUrl(oldImageUrl)) {
                 storageService.deleteFile(oldImageUrl);
             }
-            user.setImageUrl(newR2Url);
+            return mapToProfileResponse(user);
+        });
+    }
+
+    // the hash was checked and computed without a connection, so only replace the one that was checked
+    private void storePasswordHash(User user, String newHash) {
+        if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), newHash) == 0) {
+            throw new IllegalArgumentException("Password was changed by another request, please try again");
         }
+    }
 
-        userRepository.save(user);
-        return mapToProfileResponse(user);
+    // hashes made with a lower work factor than configured are replaced while the plain password is at hand
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            // only if the password did not change in the meantime
+            userRepository.replacePasswordHash(user.getId(), user.getPassword(), newHash);
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped password rehash for {}: {}", user.getId(), e.getMessage());
+        }
     }
 
     private UserProfileResponse mapToProfileResponse(User user) {
@@ -182,6 +232,7 @@ public class AuthService {
         response.setName(user.getName());
         response.setEmail(user.getEmail());
         response.setImageUrl(user.getImageUrl());
+        response.setImageVariants(storageService.variantUrls(user.getImageUrl()));
         response.setProvider(user.getProvider().toString());
         response.setHasPassword(user.getPassword() != null && !user.getPassword().isEmpty());
         return response;
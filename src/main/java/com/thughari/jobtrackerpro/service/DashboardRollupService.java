@@ -0,0 +1,155 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobCountBucket;
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
+import com.thughari.jobtrackerpro.repo.DashboardRollupRepository;
+import com.thughari.jobtrackerpro.repo.JobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class DashboardRollupService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final DashboardRollupRepository rollupRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate createTemplate;
+
+    public DashboardRollupService(DashboardRollupRepository rollupRepository, JobRepository jobRepository,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createTemplate = new TransactionTemplate(transactionManager);
+        this.createTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Locks the user's rollup row for the rest of the caller's transaction, creating it from the
+     * jobs table if it does not exist yet. Call this before touching any job so the rebuild sees
+     * the pre-mutation state.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DashboardRollup lock(String email) {
+        return rollupRepository.findForUpdate(email).orElseGet(() -> {
+            createIfAbsent(email);
+            return rollupRepository.findForUpdate(email).orElseThrow();
+        });
+    }
+
+    // in its own transaction: a duplicate-key failure from a concurrent first write must not poison the caller's
+    private void createIfAbsent(String email) {
+        try {
+            createTemplate.executeWithoutResult(status -> rollupRepository.saveAndFlush(compute(email)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Dashboard rollup for {} was created concurrently", email);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardRollup get(String email) {
+        return rollupRepository.findById(email).orElseGet(() -> compute(email));
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getStats(String email) {
+        return toStats(get(email));
+    }
+
+    static DashboardStatsDTO toStats(DashboardRollup rollup) {
+        return new DashboardStatsDTO(rollup.getTotalApplications(), rollup.getActivePipeline(),
+                rollup.getInterviews(), rollup.getOffers());
+    }
+
+    /**
+     * Current version of the user's job data; cached, and evicted by every job write.
+     */
+    // no transaction here: a cache hit must not check out a connection
+    @Cacheable(value = "dataVersion", key = "#email")
+    public long getDataVersion(String email) {
+        return rollupRepository.findDataVersion(email).orElse(0L);
+    }
+
+    /**
+     * Recomputes every rollup from the jobs table, one batch of users per transaction.
+     * Each batch holds the rollup row locks while it recounts, so concurrent job
+     * mutations for those users wait rather than being lost.
+     */
+    @CacheEvict(value = {"jobData", "dataVersion"}, allEntries = true)
+    public int rebuildAll() {
+        TreeSet<String> emails = new TreeSet<>(jobRepository.findDistinctUserEmails());
+        emails.addAll(rollupRepository.findAllUserEmails());
+
+        List<String> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        int rebuilt = 0;
+        for (String email : emails) {
+            batch.add(email);
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                rebuilt += rebuildBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rebuilt += rebuildBatch(batch);
+        }
+        return rebuilt;
+    }
+
+    private int rebuildBatch(List<String> emails) {
+        return transactionTemplate.execute(status -> {
+            Map<String, DashboardRollup> rollups = rollupRepository.findAllForUpdate(emails).stream()
+                    .collect(Collectors.toMap(DashboardRollup::getUserEmail, Function.identity()));
+
+            Map<String, DashboardRollup> rebuilt = new LinkedHashMap<>();
+            for (String email : emails) {
+                DashboardRollup rollup = rollups.getOrDefault(email, new DashboardRollup(email));
+                rollup.reset();
+                rollup.nextDataVersion();
+                rebuilt.put(email, rollup);
+            }
+            accumulate(rebuilt, jobRepository.countBuckets(emails));
+
+            rollupRepository.saveAll(rebuilt.values());
+            log.info("Rebuilt dashboard rollups for {} users", emails.size());
+            return emails.size();
+        });
+    }
+
+    private DashboardRollup compute(String email) {
+        DashboardRollup rollup = new DashboardRollup(email);
+        accumulate(Map.of(email, rollup), jobRepository.countBuckets(List.of(email)));
+        return rollup;
+    }
+
+    private void accumulate(Map<String, DashboardRollup> rollups, Collection<JobCountBucket> buckets) {
+        for (JobCountBucket bucket : buckets) {
+            DashboardRollup rollup = rollups.get(bucket.userEmail());
+            LocalDate month = bucket.year() == null ? null : LocalDate.of(bucket.year(), bucket.month(), 1);
+            rollup.add(bucket.status(), bucket.stage(), month, bucket.count());
+        }
+    }
+}
@@ -1,56 +1,123 @@
 package com.thughari.jobtrackerpro.service;
 
+import com.thughari.jobtrackerpro.dto.ChartData;
+import com.thughari.jobtrackerpro.dto.DashboardGranularity;
+import com.thughari.jobtrackerpro.dto.DashboardResponse;
 import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
-import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.dto.DateBucketCount;
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
 import com.thughari.jobtrackerpro.repo.JobRepository;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class DashboardService {
 
+	private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+	private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+	private final DashboardRollupService rollupService;
 	private final JobRepository jobRepository;
-	private final Executor executor;
 
-	public DashboardService(JobRepository jobRepository, @Qualifier("dashboardExecutor") Executor executor) {
+	public DashboardService(DashboardRollupService rollupService, JobRepository jobRepository) {
+		this.rollupService = rollupService;
 		this.jobRepository = jobRepository;
-		this.executor = executor;
 	}
 
 	public DashboardStatsDTO getStats(String email) {
-		List<Job> jobs = jobRepository.findByUserEmailOrderByDateDesc(email);
-
-
-		CompletableFuture<Long> activeFuture = CompletableFuture.supplyAsync(() -> 
-		jobs.stream().filter(j -> !j.getStatus().equals("Rejected") && !j.getStatus().equals("Offer Received")).count(),
-		executor
-				);
-
-		CompletableFuture<Long> interviewFuture = CompletableFuture.supplyAsync(() -> 
-		jobs.stream().filter(j -> j.getStatus().equals("Interview Scheduled") || j.getStage() >= 3).count(),
-		executor
-				);
-
-		CompletableFuture<Long> offerFuture = CompletableFuture.supplyAsync(() -> 
-		jobs.stream().filter(j -> j.getStatus().equals("Offer Received")).count(),
-		executor
-				);
-
-		CompletableFuture.allOf(activeFuture, interviewFuture, offerFuture).join();
-
-		try {
-			return new DashboardStatsDTO(
-					jobs.size(),
-					activeFuture.get(),
-					interviewFuture.get(),
-					offerFuture.get()
-					);
-		} catch (Exception e) {
-			throw new RuntimeException("Error calculating stats", e);
+		return rollupService.getStats(email);
+	}
+
+	/**
+	 * The all-time monthly view is served from the rollup row; any other range or
+	 * granularity is aggregated by the database so only the buckets cross the wire.
+	 */
+	public DashboardResponse getDashboard(String email, LocalDate from, LocalDate to, DashboardGranularity granularity) {
+		if (from == null && to == null && granularity == DashboardGranularity.MONTH) {
+			return fromRollup(rollupService.get(email));
+		}
+
+		LocalDate start = from != null ? from : MIN_DATE;
+		LocalDate end = to != null ? to : MAX_DATE;
+		if (start.isAfter(end)) {
+			throw new IllegalArgumentException("'from' must not be after 'to'");
+		}
+
+		DashboardResponse response = new DashboardResponse();
+		DashboardStatsDTO stats = jobRepository.getStatsInRange(email, start, end);
+		response.setStats(stats);
+		response.setStatusChart(jobRepository.countByStatusInRange(email, start, end).stream()
+				.map(row -> new ChartData(row.status().getLabel(), row.count()))
+				.collect(Collectors.toList()));
+
+		List<DateBucketCount> buckets = granularity == DashboardGranularity.WEEK
+				? jobRepository.countByWeekInRange(email, start, end)
+				: jobRepository.countByMonthInRange(email, start, end);
+		response.setMonthlyChart(toTimeSeries(buckets, granularity));
+
+		long interviewed = jobRepository.countInterviewedInRange(email, start, end);
+		response.setInterviewChart(interviewSplit(stats.getTotalApplications(), interviewed));
+		return response;
+	}
+
+	private DashboardResponse fromRollup(DashboardRollup rollup) {
+		DashboardResponse response = new DashboardResponse();
+		long total = rollup.getTotalApplications();
+		response.setStats(new DashboardStatsDTO(total, rollup.getActivePipeline(),
+				rollup.getInterviews(), rollup.getOffers()));
+
+		response.setStatusChart(rollup.getStatusCounts().entrySet().stream()
+				.map(e -> new ChartData(e.getKey(), e.getValue()))
+				.collect(Collectors.toList()));
+
+		response.setMonthlyChart(new TreeMap<>(rollup.getMonthlyCounts()).entrySet().stream()
+				.map(e -> {
+					YearMonth month = YearMonth.parse(e.getKey());
+					return new ChartData(DashboardGranularity.MONTH.label(month.getYear(), month.getMonthValue()), e.getValue());
+				})
+				.collect(Collectors.toList()));
+
+		response.setInterviewChart(interviewSplit(total, rollup.getInterviewed()));
+		return response;
+	}
+
+	static List<ChartData> toTimeSeries(List<DateBucketCount> buckets, DashboardGranularity granularity) {
+		// keyed by year * 100 + period so the map iterates chronologically
+		Map<Integer, Long> counts = new TreeMap<>();
+		for (DateBucketCount bucket : buckets) {
+			int year = bucket.year();
+			int period = switch (granularity) {
+				case WEEK -> bucket.week();
+				case MONTH -> bucket.month();
+				case QUARTER -> (bucket.month() - 1) / 3 + 1;
+			};
+			if (granularity == DashboardGranularity.WEEK) {
+				// early-January days can belong to the last ISO week of the previous year, and vice versa
+				if (bucket.month() == 1 && period >= 52) {
+					year--;
+				} else if (bucket.month() == 12 && period == 1) {
+					year++;
+				}
+			}
+			counts.merge(year * 100 + period, bucket.count(), Long::sum);
 		}
+		return counts.entrySet().stream()
+				.map(e -> new ChartData(granularity.label(e.getKey() / 100, e.getKey() % 100), e.getValue()))
+				.collect(Collectors.toList());
+	}
+
+	private List<ChartData> interviewSplit(long total, long interviewed) {
+		return List.of(
+				new ChartData("Interviewed", interviewed),
+				new ChartData("Not Interviewed", total > 0 ? total - interviewed : 0)
+		);
 	}
-}
\ No newline at end of file
+}
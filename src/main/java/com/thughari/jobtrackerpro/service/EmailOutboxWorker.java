@@ -0,0 +1,212 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.entity.EmailOutboxMessage;
+import com.thughari.jobtrackerpro.repo.EmailOutboxRepository;
+
+import jakarta.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox. Due messages are claimed in a short transaction (row locks with SKIP LOCKED,
+ * then a lease pushed into {@code nextAttemptAt}), sent in batches that share one SMTP connection, and
+ * their outcome is recorded in a second short transaction, so no connection is held while talking to
+ * the mail server. Sending is throttled to {@code max-per-minute}; failures are retried with exponential
+ * backoff and jitter until {@code max-attempts}, after which the message is marked {@code FAILED}.
+ * Delivery is at-least-once: a worker that dies mid-batch leaves its lease to expire and the batch is
+ * sent again.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-per-minute:60}")
+    private int maxPerMinute;
+
+    @Value("${app.mail.outbox.lease:2m}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.backoff.initial:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.backoff.max:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retention:7d}")
+    private Duration retention;
+
+    // token bucket holding at most one minute's worth of sends, starting full; only touched by the scheduler thread
+    private double permits = Double.MAX_VALUE;
+    private long refilledAt = System.nanoTime();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long queueDepth;
+    private volatile long oldestPendingAgeSeconds;
+
+    public EmailOutboxWorker(EmailOutboxRepository outboxRepository, EmailService emailService,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2s}")
+    public void drain() {
+        try {
+            while (true) {
+                int allowed = (int) Math.min(batchSize, acquirePermits());
+                if (allowed == 0) {
+                    break;
+                }
+                List<EmailOutboxMessage> batch = claim(allowed);
+                permits -= batch.size();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                record(batch, emailService.deliver(batch));
+                if (batch.size() < allowed) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Email outbox poll failed", e);
+        } finally {
+            refreshQueueStats();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval:1h}")
+    public void purgeSent() {
+        int purged = outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getOldestPendingAgeSeconds() {
+        return oldestPendingAgeSeconds;
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getRetriedCount() {
+        return retried.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private double acquirePermits() {
+        long now = System.nanoTime();
+        permits = Math.min(maxPerMinute, permits + (now - refilledAt) / 60e9 * maxPerMinute);
+        refilledAt = now;
+        return Math.floor(permits);
+    }
+
+    private List<EmailOutboxMessage> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(now, PageRequest.of(0, limit));
+            due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void record(List<EmailOutboxMessage> batch, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutboxMessage message : batch) {
+            message.setAttempts(message.getAttempts() + 1);
+            Exception error = failures.get(message.getId());
+            if (error == null) {
+                message.setStatus(EmailOutboxMessage.Status.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sent.incrementAndGet();
+            } else {
+                message.setLastError(truncate(String.valueOf(error.getMessage())));
+                if (isPermanent(error) || message.getAttempts() >= maxAttempts) {
+                    message.setStatus(EmailOutboxMessage.Status.FAILED);
+                    failed.incrementAndGet();
+                    log.error("Giving up on email {} to {} after {} attempts: {}", message.getId(),
+                            message.getRecipient(), message.getAttempts(), error.getMessage());
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts(), initialBackoff, maxBackoff)));
+                    retried.incrementAndGet();
+                    log.warn("Email {} failed (attempt {}), retrying at {}: {}", message.getId(),
+                            message.getAttempts(), message.getNextAttemptAt(), error.getMessage());
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+        log.info("Email outbox batch: {} sent, {} failed", batch.size() - failures.size(), failures.size());
+    }
+
+    private void refreshQueueStats() {
+        try {
+            queueDepth = outboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING);
+            oldestPendingAgeSeconds = outboxRepository.findOldestPendingCreatedAt()
+                    .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toSeconds()))
+                    .orElse(0L);
+        } catch (RuntimeException e) {
+            log.debug("Could not read email outbox depth", e);
+        }
+    }
+
+    /**
+     * {@code initial * 2^(attempts - 1)}, capped at {@code max}, plus up to 20% jitter so messages that
+     * failed together do not retry together.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        long millis = initial.toMillis() << Math.min(attempts - 1, 30);
+        if (millis <= 0 || millis > max.toMillis()) {
+            millis = max.toMillis();
+        }
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1));
+    }
+
+    // a rejected address or a message that cannot be built fails the same way on every attempt
+    private static boolean isPermanent(Exception error) {
+        return error instanceof MailPreparationException
+                || error instanceof SendFailedException sendFailed
+                        && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -1,24 +1,39 @@
 package com.thughari.jobtrackerpro.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.thughari.jobtrackerpro.entity.EmailOutboxMessage;
+import com.thughari.jobtrackerpro.repo.EmailOutboxRepository;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Renders emails into the outbox and delivers outbox batches. Nothing is sent from the request
+ * thread; {@code EmailOutboxWorker} drains the outbox.
+ */
 @Service
 @Slf4j
 public class EmailService {
 
-    @Autowired
-    private JavaMailSender mailSender;
+    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
 
     @Value("${app.ui.url}")
     private String uiUrl;
@@ -29,44 +44,79 @@ public class EmailService {
     @Value("${email.sender_name}") 
     private String fromName; 
 
-    @Async
-    public void sendResetEmail(String to, String token) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+    public EmailService(JavaMailSender mailSender, EmailOutboxRepository outboxRepository) {
+        this.mailSender = mailSender;
+        this.outboxRepository = outboxRepository;
+    }
 
-            helper.setFrom(fromEmail, fromName);             
-            helper.setTo(to);
-            helper.setSubject("Reset Password - JobTrackPro");
-            
-            String resetLink = uiUrl + "/reset-password?token=" + token;
-            
-            String htmlContent = """
-                <div style="background-color: #f3f4f6; padding: 20px; font-family: sans-serif;">
-                    <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; padding: 30px; border-radius: 8px; box-shadow: 0 2px 5px rgba(0,0,0,0.05);">
-                        <h2 style="color: #111827; margin-top: 0;">Reset Your Password</h2>
-                        <p style="color: #4b5563; line-height: 1.6;">Hello,</p>
-                        <p style="color: #4b5563; line-height: 1.6;">You requested to reset your password for JobTrackPro. Please click the button below to proceed:</p>
-                        
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="%s" style="background-color: #6366f1; color: white; padding: 12px 24px; text-decoration: none; border-radius: 6px; font-weight: bold; display: inline-block;">Reset Password</a>
-                        </div>
-                        
-                        <p style="color: #6b7280; font-size: 12px; margin-top: 30px; border-top: 1px solid #e5e7eb; padding-top: 20px;">
-                            If you did not request this, please ignore this email. The link will expire in 15 minutes.
-                        </p>
+    // joins the caller's transaction, so the email exists exactly when the reset token does
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueResetEmail(String to, String token) {
+        String resetLink = uiUrl + "/reset-password?token=" + token;
+
+        String htmlContent = """
+            <div style="background-color: #f3f4f6; padding: 20px; font-family: sans-serif;">
+                <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; padding: 30px; border-radius: 8px; box-shadow: 0 2px 5px rgba(0,0,0,0.05);">
+                    <h2 style="color: #111827; margin-top: 0;">Reset Your Password</h2>
+                    <p style="color: #4b5563; line-height: 1.6;">Hello,</p>
+                    <p style="color: #4b5563; line-height: 1.6;">You requested to reset your password for JobTrackPro. Please click the button below to proceed:</p>
+                    
+                    <div style="text-align: center; margin: 30px 0;">
+                        <a href="%s" style="background-color: #6366f1; color: white; padding: 12px 24px; text-decoration: none; border-radius: 6px; font-weight: bold; display: inline-block;">Reset Password</a>
                     </div>
+                    
+                    <p style="color: #6b7280; font-size: 12px; margin-top: 30px; border-top: 1px solid #e5e7eb; padding-top: 20px;">
+                        If you did not request this, please ignore this email. The link will expire in 15 minutes.
+                    </p>
                 </div>
-                """.formatted(resetLink);
+            </div>
+            """.formatted(resetLink);
 
-            helper.setText(htmlContent, true);
+        outboxRepository.save(new EmailOutboxMessage(to, "Reset Password - JobTrackPro", htmlContent));
+    }
 
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", to);
-            
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            log.error("Failed to send email to {}", to, e);
+    /**
+     * Sends {@code messages} over a single SMTP connection and returns the failures by outbox id; an
+     * empty map means everything was accepted by the server.
+     */
+    public Map<Long, Exception> deliver(List<EmailOutboxMessage> messages) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(messages.size());
+        for (EmailOutboxMessage message : messages) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message);
+                ids.put(mimeMessage, message.getId());
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                failures.put(message.getId(), new MailPreparationException(e));
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
         }
+
+        try {
+            mailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                mimeMessages.forEach(m -> failures.put(ids.get(m), e));
+            }
+            e.getFailedMessages().forEach((m, error) -> failures.put(ids.get(m), error));
+        } catch (MailException e) {
+            // e.g. authentication: the connection was never usable, so nothing went out
+            mimeMessages.forEach(m -> failures.put(ids.get(m), e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtmlBody(), true);
+        return mimeMessage;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.dto.JobFileFormat;
+import com.thughari.jobtrackerpro.repo.JobRepository;
+import com.thughari.jobtrackerpro.util.CsvWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's jobs from a database cursor straight into the response, one row at a time.
+ * Rows are projected into DTOs rather than managed entities, so heap use does not grow with the
+ * number of jobs.
+ */
+@Service
+public class JobExportService {
+
+    private static final String[] CSV_COLUMNS = { "id", "company", "role", "location", "date", "status", "stage",
+            "stageStatus", "salaryMin", "salaryMax", "url", "notes" };
+
+    private final JobRepository jobRepository;
+    private final JsonMapper jsonMapper;
+
+    public JobExportService(JobRepository jobRepository, JsonMapper jsonMapper) {
+        this.jobRepository = jobRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportJobs(String email, JobFileFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        CsvWriter csv = new CsvWriter(writer);
+        if (format == JobFileFormat.CSV) {
+            csv.writeRecord((Object[]) CSV_COLUMNS);
+        }
+
+        try (Stream<JobDTO> jobs = jobRepository.streamByUserEmail(email)) {
+            Iterator<JobDTO> rows = jobs.iterator();
+            while (rows.hasNext()) {
+                JobDTO job = rows.next();
+                if (format == JobFileFormat.CSV) {
+                    csv.writeRecord(job.getId(), job.getCompany(), job.getRole(), job.getLocation(), job.getDate(),
+                            job.getStatus(), job.getStage(), job.getStageStatus(),
+                            job.getSalaryMin(), job.getSalaryMax(), job.getUrl(), job.getNotes());
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(job));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,359 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.JobDTO;
+import com.thughari.jobtrackerpro.dto.JobFileFormat;
+import com.thughari.jobtrackerpro.dto.JobImportError;
+import com.thughari.jobtrackerpro.dto.JobImportResponse;
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
+import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.User;
+import com.thughari.jobtrackerpro.events.JobChangeEvent;
+import com.thughari.jobtrackerpro.exception.UserNotFoundException;
+import com.thughari.jobtrackerpro.repo.JobRepository;
+import com.thughari.jobtrackerpro.repo.UserRepository;
+import com.thughari.jobtrackerpro.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Streams a CSV or NDJSON upload into the jobs table. Rows are parsed one at a time, validated and
+ * written in fixed-size chunks, each in its own short transaction with JDBC batching, so memory stays
+ * constant and a bad chunk does not roll back the rows already imported.
+ */
+@Service
+@Slf4j
+public class JobImportService {
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final DashboardRollupService rollupService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher events;
+
+    @Value("${app.jobs.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.jobs.import.max-errors:1000}")
+    private int maxErrors;
+
+    public JobImportService(JobRepository jobRepository, UserRepository userRepository,
+            DashboardRollupService rollupService, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, JsonMapper jsonMapper,
+            ApplicationEventPublisher events) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.events = events;
+    }
+
+    @CacheEvict(value = {"jobData", "jobSearchIndex", "dataVersion"}, key = "#email")
+    public JobImportResponse importJobs(InputStream body, JobFileFormat format, String email) {
+        UUID userId = userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        Report report = new Report(maxErrors);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        RowSource source = format == JobFileFormat.CSV ? new CsvRowSource(body) : new NdjsonRowSource(body);
+        try {
+            Row row;
+            while ((row = source.next(report)) != null) {
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, userId, email, report);
+                }
+            }
+        } catch (IOException e) {
+            report.fail(source.line(), "Import stopped: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, userId, email, report);
+        }
+        return report.toResponse();
+    }
+
+    private void writeChunk(List<Row> chunk, UUID userId, String email, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                DashboardRollup rollup = rollupService.lock(email);
+                User owner = entityManager.getReference(User.class, userId);
+                long version = rollup.nextDataVersion();
+                List<Job> jobs = new ArrayList<>(chunk.size());
+                for (Row row : chunk) {
+                    row.job().setUser(owner);
+                    row.job().setChangeVersion(version);
+                    rollup.add(row.job().getStatus(), row.job().getStage(), row.job().getDate());
+                    jobs.add(row.job());
+                }
+                jobRepository.saveAll(jobs);
+                jobRepository.flush();
+                events.publishEvent(JobChangeEvent.changed(email, version, DashboardRollupService.toStats(rollup)));
+                // detach the chunk so the persistence context does not grow with the upload
+                entityManager.clear();
+            });
+            report.imported += chunk.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Job import chunk of {} rows failed for {}: {}", chunk.size(), email, e.getMessage());
+            for (Row row : chunk) {
+                report.fail(row.line(), "Could not be saved");
+            }
+        }
+        chunk.clear();
+    }
+
+    private Job toJob(JobDTO dto) {
+        if (isBlank(dto.getCompany()) && isBlank(dto.getRole())) {
+            throw new IllegalArgumentException("company or role is required");
+        }
+        checkLength("company", dto.getCompany(), 255);
+        checkLength("role", dto.getRole(), 255);
+        checkLength("location", dto.getLocation(), 255);
+        checkLength("stageStatus", dto.getStageStatus(), 255);
+        checkLength("url", dto.getUrl(), 2048);
+        checkLength("notes", dto.getNotes(), 4096);
+
+        Job job = JobService.convertToEntity(dto);
+        JobService.applyDefaultDate(job);
+        return job;
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " exceeds " + max + " characters");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row(long line, Job job) {
+    }
+
+    private interface RowSource {
+
+        /**
+         * Next valid row; invalid rows are recorded on the report and skipped. {@code null} at end of input.
+         */
+        Row next(Report report) throws IOException;
+
+        long line();
+    }
+
+    private class NdjsonRowSource implements RowSource {
+
+        // a job's fields add up to well under this; the rest of a longer line is skipped, not buffered
+        private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+        private final BufferedReader reader;
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean truncated;
+        private long line;
+
+        NdjsonRowSource(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Row next(Report report) throws IOException {
+            String text;
+            while ((text = readLine()) != null) {
+                line++;
+                if (truncated) {
+                    report.fail(line, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+                    continue;
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(line, toJob(jsonMapper.readValue(text, JobDTO.class)));
+                } catch (JacksonException e) {
+                    report.fail(line, "Malformed JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    report.fail(line, e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+
+        // BufferedReader.readLine() would buffer a line of any length; this keeps at most MAX_LINE_LENGTH characters
+        private String readLine() throws IOException {
+            buffer.setLength(0);
+            truncated = false;
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (buffer.length() < MAX_LINE_LENGTH) {
+                    buffer.append((char) c);
+                } else {
+                    truncated = true;
+                }
+            }
+            if (c == -1 && buffer.isEmpty()) {
+                return null;
+            }
+            int end = buffer.length();
+            if (end > 0 && buffer.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return buffer.substring(0, end);
+        }
+    }
+
+    private class CsvRowSource implements RowSource {
+
+        private final CsvReader reader;
+        private List<String> header;
+
+        CsvRowSource(InputStream body) {
+            this.reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public Row next(Report report) throws IOException {
+            if (header == null) {
+                header = readHeader();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                try {
+                    return new Row(reader.getRecordLine(), toJob(toDto(record)));
+                } catch (IllegalArgumentException e) {
+                    report.fail(reader.getRecordLine(), e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long line() {
+            return reader.getRecordLine();
+        }
+
+        private List<String> readHeader() throws IOException {
+            List<String> names = reader.next();
+            if (names == null) {
+                return null;
+            }
+            List<String> columns = new ArrayList<>(names.size());
+            boolean known = false;
+            for (String name : names) {
+                String column = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                columns.add(column);
+                known |= switch (column) {
+                    case "company", "role", "location", "date", "status", "stage", "stagestatus",
+                            "salarymin", "salarymax", "url", "notes" -> true;
+                    default -> false;
+                };
+            }
+            if (!known) {
+                throw new IllegalArgumentException("CSV header must name at least one job column, e.g. company,role,status,date");
+            }
+            return columns;
+        }
+
+        private JobDTO toDto(List<String> record) {
+            JobDTO dto = new JobDTO();
+            for (int i = 0; i < header.size() && i < record.size(); i++) {
+                String value = record.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                switch (header.get(i)) {
+                    case "company" -> dto.setCompany(value);
+                    case "role" -> dto.setRole(value);
+                    case "location" -> dto.setLocation(value);
+                    case "date" -> dto.setDate(parseDate(value));
+                    case "status" -> dto.setStatus(value);
+                    case "stage" -> dto.setStage(parseNumber("stage", value, Integer::valueOf));
+                    case "stagestatus" -> dto.setStageStatus(value);
+                    case "salarymin" -> dto.setSalaryMin(parseNumber("salaryMin", value, Double::valueOf));
+                    case "salarymax" -> dto.setSalaryMax(parseNumber("salaryMax", value, Double::valueOf));
+                    case "url" -> dto.setUrl(value);
+                    case "notes" -> dto.setNotes(value);
+                    default -> {
+                    }
+                }
+            }
+            return dto;
+        }
+
+        private LocalDate parseDate(String value) {
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date (expected yyyy-MM-dd): " + value);
+            }
+        }
+
+        private <T> T parseNumber(String field, String value, Function<String, T> parser) {
+            try {
+                return parser.apply(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + field + ": " + value);
+            }
+        }
+    }
+
+    private static class Report {
+
+        private final int maxErrors;
+        private final List<JobImportError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new JobImportError(line, message));
+            }
+        }
+
+        JobImportResponse toResponse() {
+            return new JobImportResponse(imported, failed, errors, failed > errors.size());
+        }
+    }
+}
@@ -1,163 +1,360 @@
 package com.thughari.jobtrackerpro.service;
 
-import com.thughari.jobtrackerpro.dto.ChartData;
-import com.thughari.jobtrackerpro.dto.DashboardResponse;
 import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobBatchRequest;
+import com.thughari.jobtrackerpro.dto.JobBatchResponse;
+import com.thughari.jobtrackerpro.dto.JobBatchResult;
+import com.thughari.jobtrackerpro.dto.JobChangesResponse;
+import com.thughari.jobtrackerpro.dto.JobCursor;
 import com.thughari.jobtrackerpro.dto.JobDTO;
 import com.thughari.jobtrackerpro.dto.JobDataResponse;
+import com.thughari.jobtrackerpro.dto.JobPageResponse;
+import com.thughari.jobtrackerpro.dto.JobRollupState;
+import com.thughari.jobtrackerpro.entity.DashboardRollup;
 import com.thughari.jobtrackerpro.entity.Job;
+import com.thughari.jobtrackerpro.entity.JobStatus;
+import com.thughari.jobtrackerpro.entity.User;
+import com.thughari.jobtrackerpro.events.JobChangeEvent;
 import com.thughari.jobtrackerpro.exception.ResourceNotFoundException;
+import com.thughari.jobtrackerpro.exception.UserNotFoundException;
+import com.thughari.jobtrackerpro.repo.DashboardRollupRepository;
 import com.thughari.jobtrackerpro.repo.JobRepository;
-import org.springframework.beans.BeanUtils;
+import com.thughari.jobtrackerpro.repo.JobTombstoneRepository;
+import com.thughari.jobtrackerpro.repo.UserRepository;
+import com.thughari.jobtrackerpro.search.JobSearchIndex;
+import com.thughari.jobtrackerpro.search.SearchQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.format.DateTimeFormatter;
-import java.util.LinkedHashMap;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @Transactional
 public class JobService {
 
     private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final DashboardRollupService rollupService;
+    private final DashboardRollupRepository rollupRepository;
+    private final JobTombstoneRepository tombstoneRepository;
+    private final JobSearchIndex searchIndex;
+    private final ApplicationEventPublisher events;
 
-    public JobService(JobRepository jobRepository) {
+    @Value("${app.jobs.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.jobs.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${app.search.latency-budget-ms:50}")
+    private long searchLatencyBudgetMs;
+
+    @Value("${app.jobs.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${app.jobs.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    public JobService(JobRepository jobRepository, UserRepository userRepository,
+            DashboardRollupService rollupService, DashboardRollupRepository rollupRepository,
+            JobTombstoneRepository tombstoneRepository, JobSearchIndex searchIndex,
+            ApplicationEventPublisher events) {
         this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.rollupRepository = rollupRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.searchIndex = searchIndex;
+        this.events = events;
     }
     
     @Transactional(readOnly = true)
     @Cacheable(value = "jobData", key = "#email")
     public JobDataResponse getFullJobData(String email) {
-        List<Job> jobEntities = jobRepository.findByUserEmailOrderByDateDesc(email);
+        List<JobDTO> jobDtos = jobRepository.findDtosByUserEmail(email);
+        DashboardStatsDTO stats = rollupService.getStats(email);
+
+        return new JobDataResponse(jobDtos, stats, null);
+    }
 
-        List<JobDTO> jobDtos = jobEntities.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public JobDataResponse getJobData(String email, String cursor, Integer size) {
+        JobPageResponse page = getJobPage(email, cursor, size);
+        return new JobDataResponse(page.getJobs(), getStats(email), page.getNextCursor());
+    }
 
-        long total = jobEntities.size();
-        
-        long active = jobEntities.stream()
-                .filter(j -> !j.getStatus().equals("Rejected") && !j.getStatus().equals("Offer Received"))
-                .count();
+    @Transactional(readOnly = true)
+    public JobPageResponse getJobPage(String email, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
 
-        long interviews = jobEntities.stream()
-                .filter(j -> j.getStatus().equals("Interview Scheduled") || j.getStage() >= 3)
-                .count();
+        List<JobDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jobRepository.findFirstPage(email, limit);
+        } else {
+            JobCursor position = JobCursor.decode(cursor);
+            rows = position.date() == null
+                    ? jobRepository.findPageAfterUndated(email, position.id(), limit)
+                    : jobRepository.findPageAfter(email, position.date(), position.id(), limit);
+        }
 
-        long offers = jobEntities.stream()
-                .filter(j -> j.getStatus().equals("Offer Received"))
-                .count();
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
 
-        DashboardStatsDTO stats = new DashboardStatsDTO(total, active, interviews, offers);
+        String nextCursor = null;
+        if (hasMore) {
+            JobDTO last = rows.get(rows.size() - 1);
+            nextCursor = new JobCursor(last.getDate(), last.getId()).encode();
+        }
 
-        return new JobDataResponse(jobDtos, stats);
+        return new JobPageResponse(rows, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
     public List<JobDTO> getUserJobs(String email) {
-        return jobRepository.findByUserEmailOrderByDateDesc(email)
-                .stream().map(this::convertToDto).collect(Collectors.toList());
+        return jobRepository.findDtosByUserEmail(email);
     }
     
     @Transactional(readOnly = true)
     // @Cacheable(value = "jobs", key = "#email")
     public List<JobDTO> getAllJobs(String email) {
-        return jobRepository.findByUserEmailOrderByDateDesc(email)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-    
-    public DashboardResponse getDashboardData(String email) {
-        List<Job> jobs = jobRepository.findByUserEmailOrderByDateDesc(email);
-        DashboardResponse response = new DashboardResponse();
-
-        long total = jobs.size();
-        long active = jobs.stream().filter(j -> !j.getStatus().equals("Rejected") && !j.getStatus().equals("Offer Received")).count();
-        long interviews = jobs.stream().filter(j -> j.getStatus().equals("Interview Scheduled") || j.getStage() >= 3).count();
-        long offers = jobs.stream().filter(j -> j.getStatus().equals("Offer Received")).count();
-        response.setStats(new DashboardStatsDTO(total, active, interviews, offers));
-
-        Map<String, Long> statusMap = jobs.stream()
-            .collect(Collectors.groupingBy(Job::getStatus, Collectors.counting()));
-        response.setStatusChart(mapToChartData(statusMap));
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yy");
-        Map<String, Long> monthMap = jobs.stream()
-            .sorted(java.util.Comparator.comparing(Job::getDate))
-            .collect(Collectors.groupingBy(
-                job -> job.getDate().format(formatter),
-                LinkedHashMap::new, 
-                Collectors.counting()
-            ));
-        response.setMonthlyChart(mapToChartData(monthMap));
-
-        long interviewCount = jobs.stream().filter(j -> j.getStage() >= 3).count();
-        response.setInterviewChart(List.of(
-            new ChartData("Interviewed", interviewCount),
-            new ChartData("Not Interviewed", total > 0 ? total - interviewCount : 0)
-        ));
-
-        return response;
+        return jobRepository.findDtosByUserEmail(email);
     }
     
     @Transactional(readOnly = true)
     // @Cacheable(value = "jobStats", key = "#email")
     public DashboardStatsDTO getStats(String email) {
-        DashboardStatsDTO stats = jobRepository.getStatsByEmail(email);
-        
-        if (stats.getTotalApplications() == 0) {
-            return new DashboardStatsDTO(0, 0, 0, 0);
+        return rollupService.getStats(email);
+    }
+
+    /**
+     * Jobs written and deleted after {@code since}. The version is read before the changes: versions are
+     * handed out under the rollup row lock and committed with their writes, so every change up to it is
+     * visible to the queries that follow. A client without a usable version (none yet, older than the
+     * purged tombstones, or unknown) gets the full list to replace its own.
+     */
+    @Transactional(readOnly = true)
+    public JobChangesResponse getChanges(String email, long since) {
+        DashboardRollup rollup = rollupService.get(email);
+        long version = rollup.getDataVersion();
+        if (since <= 0 || since < rollup.getTombstoneFloor() || since > version) {
+            return new JobChangesResponse(jobRepository.findDtosByUserEmail(email), List.of(), version, true);
+        }
+        return new JobChangesResponse(jobRepository.findChangedDtos(email, since, version),
+                tombstoneRepository.findDeletedJobIds(email, since, version), version, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.changes.purge-interval:6h}")
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        rollupRepository.raiseTombstoneFloors(cutoff);
+        int purged = tombstoneRepository.deleteDeletedBefore(cutoff);
+        if (purged > 0) {
+            log.info("Purged {} job tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobDTO> searchJobs(String email, String query, Integer limit) {
+        SearchQuery parsed = SearchQuery.parse(query);
+        int max = limit == null ? 20 : Math.min(Math.max(limit, 1), maxSearchResults);
+
+        long start = System.nanoTime();
+        List<UUID> ids = searchIndex.search(email, parsed, max);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        if (elapsedMs > searchLatencyBudgetMs) {
+            log.warn("Job search took {} ms (budget {} ms) for {} terms", elapsedMs, searchLatencyBudgetMs, parsed.terms().size());
         }
-        return stats;
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, JobDTO> jobs = jobRepository.findDtosByUserEmailAndIdIn(email, ids).stream()
+                .collect(Collectors.toMap(JobDTO::getId, Function.identity()));
+        return ids.stream().map(jobs::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    @CacheEvict(value = "jobData", key = "#email")
+    @CacheEvict(value = {"jobData", "jobSearchIndex", "dataVersion"}, key = "#email")
     public JobDTO createJob(JobDTO dto, String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        DashboardRollup rollup = rollupService.lock(email);
         Job job = convertToEntity(dto);
-        job.setUserEmail(email);
-        return convertToDto(jobRepository.save(job));
+        job.setUser(user);
+        applyDefaultDate(job);
+        job.setChangeVersion(rollup.nextDataVersion());
+        Job saved = jobRepository.save(job);
+        rollup.add(saved.getStatus(), saved.getStage(), saved.getDate());
+        JobDTO created = convertToDto(saved);
+        events.publishEvent(JobChangeEvent.created(email, rollup.getDataVersion(), created,
+                DashboardRollupService.toStats(rollup)));
+        return created;
     }
 
-    @CacheEvict(value = "jobData", key = "#email")
+    @CacheEvict(value = {"jobData", "jobSearchIndex", "dataVersion"}, key = "#email")
     public JobDTO updateJob(UUID id, JobDTO dto, String email) {
-        Job existingJob = jobRepository.findById(id)
-                .filter(job -> job.getUserEmail().equals(email))
+        // lock before loading: a concurrent write to the same job must not hand us its old counted values
+        DashboardRollup rollup = rollupService.lock(email);
+        Job existingJob = jobRepository.findByIdAndUserEmail(id, email)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found or unauthorized"));
+        rollup.remove(existingJob.getStatus(), existingJob.getStage(), existingJob.getDate());
 
-        BeanUtils.copyProperties(dto, existingJob, "id", "userEmail");
-        return convertToDto(jobRepository.save(existingJob));
+        copyToEntity(dto, existingJob);
+        applyDefaultDate(existingJob);
+        existingJob.setChangeVersion(rollup.nextDataVersion());
+        Job saved = jobRepository.save(existingJob);
+        rollup.add(saved.getStatus(), saved.getStage(), saved.getDate());
+        JobDTO updated = convertToDto(saved);
+        events.publishEvent(JobChangeEvent.updated(email, rollup.getDataVersion(), updated,
+                DashboardRollupService.toStats(rollup)));
+        return updated;
     }
 
-    @CacheEvict(value = "jobData", key = "#email")
+    @CacheEvict(value = {"jobData", "jobSearchIndex", "dataVersion"}, key = "#email")
     public void deleteJob(UUID id, String email) {
-        jobRepository.findById(id)
-                .filter(job -> job.getUserEmail().equals(email))
-                .ifPresent(jobRepository::delete);
+        DashboardRollup rollup = rollupService.lock(email);
+        jobRepository.findByIdAndUserEmail(id, email)
+                .ifPresent(job -> {
+                    rollup.remove(job.getStatus(), job.getStage(), job.getDate());
+                    tombstoneRepository.insertForJobs(email, List.of(id), rollup.nextDataVersion(), LocalDateTime.now());
+                    jobRepository.delete(job);
+                    events.publishEvent(JobChangeEvent.deleted(email, rollup.getDataVersion(), id,
+                            DashboardRollupService.toStats(rollup)));
+                });
     }
 
-    private JobDTO convertToDto(Job job) {
-        JobDTO dto = new JobDTO();
-        BeanUtils.copyProperties(job, dto);
-        return dto;
+    /**
+     * Applies one status/stage change, or a delete, to many jobs with a single UPDATE or DELETE. The
+     * rollup row lock is taken first, so the counted columns read beforehand cannot change underneath.
+     * Ids that do not exist or belong to someone else are reported as not found and left alone.
+     */
+    @CacheEvict(value = {"jobData", "jobSearchIndex", "dataVersion"}, key = "#email")
+    public JobBatchResponse applyBatch(JobBatchRequest request, String email) {
+        Set<UUID> ids = validateBatch(request);
+        JobStatus status = request.getStatus() == null ? null : JobStatus.fromLabel(request.getStatus());
+
+        DashboardRollup rollup = rollupService.lock(email);
+        List<JobRollupState> found = jobRepository.findRollupStates(email, ids);
+        Set<UUID> foundIds = new LinkedHashSet<>();
+        for (JobRollupState job : found) {
+            foundIds.add(job.id());
+            rollup.remove(job.status(), job.stage(), job.date());
+            if (!request.isDelete()) {
+                rollup.add(status != null ? status : job.status(),
+                        request.getStage() != null ? request.getStage() : job.stage(), job.date());
+            }
+        }
+
+        if (!foundIds.isEmpty()) {
+            long version = rollup.nextDataVersion();
+            if (request.isDelete()) {
+                tombstoneRepository.insertForJobs(email, foundIds, version, LocalDateTime.now());
+                jobRepository.deleteOwned(email, foundIds);
+            } else {
+                jobRepository.updateStatusAndStage(email, foundIds, status, request.getStage(),
+                        request.getStageStatus(), version);
+            }
+            events.publishEvent(JobChangeEvent.changed(email, version, DashboardRollupService.toStats(rollup)));
+        }
+
+        String done = request.isDelete() ? JobBatchResult.DELETED : JobBatchResult.UPDATED;
+        List<JobBatchResult> results = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            results.add(new JobBatchResult(id, foundIds.contains(id) ? done : JobBatchResult.NOT_FOUND));
+        }
+        return new JobBatchResponse(results, rollup.getDataVersion(), DashboardRollupService.toStats(rollup));
     }
 
-    private Job convertToEntity(JobDTO dto) {
+    private Set<UUID> validateBatch(JobBatchRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            throw new IllegalArgumentException("ids are required");
+        }
+        Set<UUID> ids = new LinkedHashSet<>(request.getIds());
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        if (ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " jobs can be changed at once");
+        }
+        boolean changes = request.getStatus() != null || request.getStage() != null || request.getStageStatus() != null;
+        if (request.isDelete() && changes) {
+            throw new IllegalArgumentException("A delete cannot also change status or stage");
+        }
+        if (!request.isDelete() && !changes) {
+            throw new IllegalArgumentException("Nothing to change: set status, stage or stageStatus, or delete");
+        }
+        if (request.getStageStatus() != null && request.getStageStatus().length() > 255) {
+            throw new IllegalArgumentException("stageStatus is longer than 255 characters");
+        }
+        return ids;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // (date, id) is the keyset for pagination, so a job must always carry a date
+    static void applyDefaultDate(Job job) {
+        if (job.getDate() == null) {
+            job.setDate(LocalDate.now());
+        }
+    }
+
+    static JobDTO convertToDto(Job job) {
+        return new JobDTO(job.getId(), job.getCompany(), job.getRole(), job.getLocation(), job.getDate(),
+                job.getStatus(), job.getStage(), job.getStageStatus(), job.getSalaryMin(), job.getSalaryMax(),
+                job.getUrl(), job.getNotes());
+    }
+
+    static Job convertToEntity(JobDTO dto) {
         Job job = new Job();
-        BeanUtils.copyProperties(dto, job);
+        copyToEntity(dto, job);
         return job;
     }
-    
-    private List<ChartData> mapToChartData(Map<String, Long> map) {
-        return map.entrySet().stream()
-            .map(e -> new ChartData(e.getKey(), e.getValue()))
-            .collect(Collectors.toList());
+
+    // the owner is never taken from the request, and status labels are mapped onto the stored enum
+    private static void copyToEntity(JobDTO dto, Job job) {
+        job.setCompany(dto.getCompany());
+        job.setRole(dto.getRole());
+        job.setLocation(dto.getLocation());
+        job.setDate(dto.getDate());
+        job.setStatus(JobStatus.fromLabel(dto.getStatus()));
+        job.setStage(dto.getStage());
+        job.setStageStatus(dto.getStageStatus());
+        job.setSalaryMin(dto.getSalaryMin());
+        job.setSalaryMax(dto.getSalaryMax());
+        job.setUrl(dto.getUrl());
+        job.setNotes(dto.getNotes());
     }
     
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.thughari.jobtrackerpro.service;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
@@ -7,162 +8,356 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.thughari.jobtrackerpro.exception.InvalidImageException;
 import com.thughari.jobtrackerpro.exception.ResourceNotFoundException;
+import com.thughari.jobtrackerpro.util.ImageThumbnails;
+import com.thughari.jobtrackerpro.util.SizeLimitedBodySubscriber;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
+/**
+ * Avatar storage on R2. Every image is keyed by the SHA-256 of its bytes, so identical images share one
+ * set of objects, which never change and are served with an immutable cache header. Decodable images are
+ * stored as square thumbnails ({@link ImageThumbnails#SIZES}) rather than as uploaded, and the profile
+ * points at the {@link #DISPLAY_SIZE} one; other formats (e.g. WebP) are stored once as-is. Decoding runs
+ * on the bounded {@code imageExecutor}. Remote images are downloaded from a shared, pooled HTTP client
+ * and cut off once they exceed {@link #MAX_FILE_SIZE}, whether or not the server declares a length, and
+ * every import or upload runs under a deadline.
+ */
 @Service
 @Slf4j
 public class StorageService {
 
-    private final S3Client s3Client;
-    
+    private final S3AsyncClient s3Client;
+    private final HttpClient httpClient;
+    private final ExecutorService imageExecutor;
+    private final MeterRegistry metrics;
+
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
+    public static final int DISPLAY_SIZE = 256;
+    // bump the version when thumbnail sizes or encoding change, so existing objects stay valid
+    private static final String AVATAR_PREFIX = "avatars/v1/";
+    private static final Pattern DISPLAY_KEY = Pattern.compile(AVATAR_PREFIX + "[0-9a-f]{64}/" + DISPLAY_SIZE);
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
     @Value("${cloudflare.r2.bucket}")
     private String bucketName;
 
     @Value("${cloudflare.r2.public-url}")
     private String publicUrl;
 
-    public StorageService(S3Client s3Client) {
+    @Value("${app.storage.remote-image.timeout:10s}")
+    private Duration remoteImageTimeout;
+
+    @Value("${app.storage.upload-timeout:30s}")
+    private Duration uploadTimeout;
+
+    // rejects decompression bombs: a small PNG can declare dimensions that need gigabytes once decoded
+    @Value("${app.storage.image.max-pixels:40000000}")
+    private long maxPixels;
+
+    public StorageService(S3AsyncClient s3Client, @Qualifier("imageExecutor") ExecutorService imageExecutor,
+            MeterRegistry metrics) {
         this.s3Client = s3Client;
+        this.imageExecutor = imageExecutor;
+        this.metrics = metrics;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
     }
 
-    public String uploadFile(MultipartFile file, String userId) {
+    /**
+     * Completes with the public URL of the stored image. Only validation and reading the request body
+     * happen on the caller's thread; nothing waits for R2.
+     */
+    public CompletableFuture<String> uploadFile(MultipartFile file) {
     	String contentType = file.getContentType();
         if (!isValidImageContent(contentType)) {
             throw new InvalidImageException("Invalid file type. Only JPG, PNG, GIF, WEBP are allowed.");
         }
-        
+
         if (file.getSize() > MAX_FILE_SIZE) {
              throw new MaxUploadSizeExceededException(0);
         }
-        try {
-            String extension = getExtensionFromContentType(file.getContentType());
-            String fileName = userId + "-" + System.currentTimeMillis() + extension;
-            
-            PutObjectRequest putObj = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(file.getContentType())
-                    .build();
-
-            s3Client.putObject(putObj, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
 
-            return publicUrl + "/" + fileName;
-        } catch (Exception e) {
-        	log.error("Failed to upload to R2: " + e.getLocalizedMessage());
-            throw new RuntimeException("Failed to upload to R2", e);
+        byte[] bytes;
+        try {
+            bytes = file.getBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the uploaded file", e);
         }
+        return storeImage(bytes, contentType)
+                .orTimeout(uploadTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (isClientError(cause)) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    log.error("Failed to upload to R2: " + cause.getLocalizedMessage());
+                    return CompletableFuture.failedFuture(new RuntimeException("Failed to upload to R2", cause));
+                });
     }
 
-    // 2. Import from Social URL (Google/GitHub)
-    public String uploadFromUrl(String externalUrl, String userId) {
+    /**
+     * Imports a social profile image (Google/GitHub); completes with the public URL. Everything after
+     * the URL check runs asynchronously.
+     */
+    public CompletableFuture<String> uploadFromUrl(String externalUrl) {
     	if (externalUrl == null || !externalUrl.startsWith("http")) {
             throw new InvalidImageException("Invalid URL format");
         }
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(5))
-                    .build();
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(externalUrl))
-                    .timeout(Duration.ofSeconds(5))
-                    .GET()
-                    .build();
-
-            HttpResponse<byte[]> response =
-                    client.send(request, HttpResponse.BodyHandlers.ofByteArray());
-
-            if (response.statusCode() != 200) {
-            	log.error("Failed to download image.");
-            	throw new ResourceNotFoundException("provided url is not accessible");
-            }
 
-            String contentType = response.headers().firstValue("Content-Type").orElse("");
-            
-            if (!isValidImageContent(contentType)) {
-                throw new InvalidImageException("URL does not point to a valid image (Type: " + contentType + ")");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(externalUrl))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        AtomicReference<SizeLimitedBodySubscriber> body = new AtomicReference<>();
+        CompletableFuture<HttpResponse<byte[]>> download = httpClient.sendAsync(request, response -> {
+            SizeLimitedBodySubscriber subscriber = checkDownload(response);
+            body.set(subscriber);
+            return subscriber;
+        });
+
+        return download
+                .thenCompose(response -> storeImage(response.body(), contentType(response.headers())))
+                .orTimeout(remoteImageTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((url, error) -> {
+                    if (error != null) {
+                        download.cancel(true);
+                        SizeLimitedBodySubscriber subscriber = body.get();
+                        if (subscriber != null) {
+                            subscriber.abort(unwrap(error));
+                        }
+                    }
+                })
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(translate(unwrap(error))));
+    }
+
+    /**
+     * URLs of every thumbnail of an avatar stored by this service, keyed by edge length; empty for
+     * anything else (external URLs, images stored as-is, avatars from before thumbnails existed).
+     */
+    public Map<Integer, String> variantUrls(String imageUrl) {
+        if (!isThumbnailUrl(imageUrl)) {
+            return Map.of();
+        }
+        String base = imageUrl.substring(0, imageUrl.lastIndexOf('/') + 1);
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        for (int size : ImageThumbnails.SIZES) {
+            urls.put(size, base + size);
+        }
+        return urls;
+    }
+
+    // runs before any of the body is read, so a response that is ruled out costs no download
+    private SizeLimitedBodySubscriber checkDownload(HttpResponse.ResponseInfo response) {
+        if (response.statusCode() != 200) {
+            log.error("Failed to download image.");
+            return SizeLimitedBodySubscriber.rejecting(new ResourceNotFoundException("provided url is not accessible"));
+        }
+
+        String contentType = contentType(response.headers());
+        if (!isValidImageContent(contentType)) {
+            return SizeLimitedBodySubscriber.rejecting(
+                    new InvalidImageException("URL does not point to a valid image (Type: " + contentType + ")"));
+        }
+
+        OptionalLong contentLength = response.headers().firstValueAsLong("Content-Length");
+        if (contentLength.isPresent() && contentLength.getAsLong() > MAX_FILE_SIZE) {
+            return SizeLimitedBodySubscriber.rejecting(new IllegalArgumentException("Image at URL is too large"));
+        }
+        return new SizeLimitedBodySubscriber(MAX_FILE_SIZE);
+    }
+
+    private static String contentType(HttpHeaders headers) {
+        return headers.firstValue("Content-Type").orElse("");
+    }
+
+    /**
+     * Stores {@code image} under its content hash and completes with the URL to show. An image that is
+     * already stored is neither decoded nor uploaded again.
+     */
+    private CompletableFuture<String> storeImage(byte[] image, String contentType) {
+        String prefix = AVATAR_PREFIX + sha256(image) + "/";
+        String displayKey = prefix + DISPLAY_SIZE;
+        return exists(displayKey).thenCompose(found -> {
+            if (found) {
+                return CompletableFuture.completedFuture(publicUrl + "/" + displayKey);
             }
-            
-            response.headers().firstValue("Content-Length").ifPresent(len -> {
-                if (Long.parseLong(len) > MAX_FILE_SIZE) {
-                    throw new IllegalArgumentException("Image at URL is too large");
-                }
-            });
+            // throws RejectedExecutionException when the pool is saturated, failing the future
+            return CompletableFuture.supplyAsync(() -> thumbnails(image), imageExecutor)
+                    .thenCompose(thumbnails -> thumbnails == null
+                            ? put(prefix + "original", image, contentType).thenApply(r -> publicUrl + "/" + prefix + "original")
+                            : putThumbnails(prefix, thumbnails).thenApply(r -> publicUrl + "/" + displayKey));
+        });
+    }
+
+    private ImageThumbnails.Thumbnails thumbnails(byte[] image) {
+        try {
+            return ImageThumbnails.create(image, maxPixels);
+        } catch (ImageThumbnails.TooLargeException e) {
+            throw new IllegalArgumentException("Image dimensions are too large");
+        } catch (IOException e) {
+            throw new InvalidImageException("Image could not be read", e);
+        }
+    }
 
-            String extension = getExtensionFromContentType(contentType);
-            String fileName = userId + "-social" + extension;
+    // the display size goes last: its presence is what marks the set as complete
+    private CompletableFuture<?> putThumbnails(String prefix, ImageThumbnails.Thumbnails thumbnails) {
+        CompletableFuture<?>[] smaller = thumbnails.images().entrySet().stream()
+                .filter(e -> e.getKey() != DISPLAY_SIZE)
+                .map(e -> put(prefix + e.getKey(), e.getValue(), thumbnails.contentType()))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(smaller).thenCompose(v ->
+                put(prefix + DISPLAY_SIZE, thumbnails.images().get(DISPLAY_SIZE), thumbnails.contentType()));
+    }
 
-            PutObjectRequest putObj = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(contentType)
-                    .build();
+    private CompletableFuture<?> put(String key, byte[] bytes, String contentType) {
+        PutObjectRequest putObj = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength((long) bytes.length)
+                .cacheControl(IMMUTABLE)
+                .build();
+        Timer.Sample sample = Timer.start(metrics);
+        return s3Client.putObject(putObj, AsyncRequestBody.fromBytesUnsafe(bytes))
+                .whenComplete((response, error) -> sample.stop(Timer.builder("r2.requests")
+                        .description("Duration of R2 object requests")
+                        .tags("operation", "PutObject", "outcome", error == null ? "success" : "error")
+                        .register(metrics)));
+    }
 
-            s3Client.putObject(
-                    putObj,
-                    RequestBody.fromBytes(response.body())
-            );
+    private CompletableFuture<Boolean> exists(String key) {
+        return s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build())
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return true;
+                    }
+                    if (unwrap(error) instanceof S3Exception s3Error && s3Error.statusCode() == 404) {
+                        return false;
+                    }
+                    throw new CompletionException(unwrap(error));
+                });
+    }
 
-            return publicUrl + "/" + fileName;
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-        } catch (InvalidImageException | IllegalArgumentException | ResourceNotFoundException e) {
-            throw e;
+    private RuntimeException translate(Throwable error) {
+        if (isClientError(error) || error instanceof ResourceNotFoundException) {
+            return (RuntimeException) error;
+        }
+        if (causedBy(error, SizeLimitedBodySubscriber.LimitExceededException.class)) {
+            return new IllegalArgumentException("Image at URL is too large");
         }
-        catch (Exception e) {
-            log.error("Failed to upload image From Url to R2", e);
-            throw new InvalidImageException("unable to update image");
+        if (error instanceof TimeoutException) {
+            log.warn("Timed out after {} importing image from URL", remoteImageTimeout);
+            return new InvalidImageException("unable to update image");
         }
+        log.error("Failed to upload image From Url to R2", error);
+        return new InvalidImageException("unable to update image");
     }
-    
+
+    /**
+     * Deletes a stored avatar, with all of its thumbnails. Content-addressed objects can be shared
+     * between users, so callers only delete a URL nobody references any more.
+     */
     public void deleteFile(String fileUrl) {
         if (fileUrl == null || fileUrl.isEmpty()) {
             return;
         }
         if (!fileUrl.startsWith(publicUrl)) {
-            return; 
+            return;
         }
 
-        try {
-            String key = fileUrl.substring(publicUrl.length() + 1);
+        if (isThumbnailUrl(fileUrl)) {
+            variantUrls(fileUrl).values().forEach(this::deleteObject);
+        } else {
+            deleteObject(fileUrl);
+        }
+    }
+
+    private void deleteObject(String fileUrl) {
+        String key = fileUrl.substring(publicUrl.length() + 1);
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build())
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("Failed to delete file from R2: {}", fileUrl, unwrap(error));
+                    } else {
+                        log.info("Deleted old image from R2: {}", key);
+                    }
+                });
+    }
 
-            s3Client.deleteObject(DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build());
-            
-            log.info("Deleted old image from R2: {}", key);
+    private boolean isThumbnailUrl(String url) {
+        return url != null && url.startsWith(publicUrl + "/")
+                && DISPLAY_KEY.matcher(url.substring(publicUrl.length() + 1)).matches();
+    }
+
+    // bad input or a saturated image pool; passed through so the handler can answer 4xx / 503
+    private static boolean isClientError(Throwable error) {
+        return error instanceof InvalidImageException || error instanceof IllegalArgumentException
+                || error instanceof RejectedExecutionException;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to delete file from R2: {}", fileUrl, e);
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
         }
+        return error;
     }
 
-    
-    private String getExtensionFromContentType(String contentType) {
-        if (contentType == null) return ".jpg";
-        
-        return switch (contentType.toLowerCase()) {
-            case "image/png" -> ".png";
-            case "image/jpeg", "image/jpg" -> ".jpg";
-            case "image/gif" -> ".gif";
-            case "image/webp" -> ".webp";
-            default -> ".jpg";
-        };
+    private static boolean causedBy(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
+
     private boolean isValidImageContent(String contentType) {
         if (contentType == null) return false;
         return contentType.equals("image/jpeg") ||
@@ -170,4 +365,4 @@ public class StorageService {
                contentType.equals("image/gif") ||
                contentType.equals("image/webp");
     }
-}
\ No newline at end of file
+}
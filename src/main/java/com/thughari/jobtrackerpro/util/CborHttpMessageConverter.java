@@ -0,0 +1,54 @@
+package com.thughari.jobtrackerpro.util;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes response bodies as {@code application/cbor} for clients that ask for it. Values are serialized by
+ * the application's JSON mapper into a token buffer and re-encoded, so CBOR and JSON responses always have
+ * the same shape. Request bodies stay JSON.
+ */
+public class CborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final JsonMapper jsonMapper;
+
+    public CborHttpMessageConverter(JsonMapper jsonMapper) {
+        super(MediaType.APPLICATION_CBOR);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        TokenBuffer tokens = jsonMapper.writeValueIntoBuffer(value);
+        OutputStream out = new BufferedOutputStream(outputMessage.getBody(), 8192);
+        try (JsonParser parser = tokens.asParser()) {
+            new CborWriter(out).writeTokens(parser);
+        }
+        out.flush();
+    }
+}
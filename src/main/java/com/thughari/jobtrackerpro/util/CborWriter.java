@@ -0,0 +1,158 @@
+package com.thughari.jobtrackerpro.util;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 8949 CBOR from a Jackson token stream, so anything the JSON mapper serializes can go out as
+ * CBOR with the same field names and values. Objects and arrays use indefinite lengths, which needs no
+ * look-ahead; integers and floats take the shortest encoding that keeps their value.
+ */
+public class CborWriter {
+
+    private static final int UNSIGNED = 0;
+    private static final int NEGATIVE = 1;
+    private static final int BYTES = 2;
+    private static final int TEXT = 3;
+    private static final int TAG = 6;
+
+    private static final int START_ARRAY = 0x9F;
+    private static final int START_MAP = 0xBF;
+    private static final int BREAK = 0xFF;
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int FLOAT32 = 0xFA;
+    private static final int FLOAT64 = 0xFB;
+
+    private final OutputStream out;
+
+    public CborWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public void writeTokens(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT -> out.write(START_MAP);
+                case START_ARRAY -> out.write(START_ARRAY);
+                case END_OBJECT, END_ARRAY -> out.write(BREAK);
+                case PROPERTY_NAME, VALUE_STRING -> writeText(parser.getString());
+                case VALUE_NUMBER_INT -> writeInteger(parser);
+                case VALUE_NUMBER_FLOAT -> writeFloat(parser);
+                case VALUE_TRUE -> out.write(TRUE);
+                case VALUE_FALSE -> out.write(FALSE);
+                case VALUE_NULL -> out.write(NULL);
+                case VALUE_EMBEDDED_OBJECT -> writeEmbedded(parser.getEmbeddedObject());
+                default -> throw new IOException("Cannot encode " + token + " as CBOR");
+            }
+        }
+    }
+
+    private void writeInteger(JsonParser parser) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            writeBigInteger(parser.getBigIntegerValue());
+        } else {
+            writeLong(parser.getLongValue());
+        }
+    }
+
+    private void writeFloat(JsonParser parser) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+            writeDecimal(parser.getDecimalValue());
+            return;
+        }
+        double value = parser.getDoubleValue();
+        if ((float) value == value || Double.isNaN(value)) {
+            out.write(FLOAT32);
+            writeInt(Float.floatToIntBits((float) value));
+        } else {
+            out.write(FLOAT64);
+            long bits = Double.doubleToLongBits(value);
+            writeInt((int) (bits >>> 32));
+            writeInt((int) bits);
+        }
+    }
+
+    private void writeEmbedded(Object value) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof byte[] bytes) {
+            writeHead(BYTES, bytes.length);
+            out.write(bytes);
+        } else {
+            writeText(value.toString());
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeHead(TEXT, utf8.length);
+        out.write(utf8);
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(UNSIGNED, value);
+        } else {
+            writeHead(NEGATIVE, -1 - value);
+        }
+    }
+
+    // tags 2 and 3: unsigned big-endian magnitude (of -1 - n for negatives)
+    private void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < 64) {
+            writeLong(value.longValue());
+            return;
+        }
+        boolean negative = value.signum() < 0;
+        byte[] magnitude = (negative ? value.negate().subtract(BigInteger.ONE) : value).toByteArray();
+        int offset = magnitude[0] == 0 ? 1 : 0;
+        writeHead(TAG, negative ? 3 : 2);
+        writeHead(BYTES, magnitude.length - offset);
+        out.write(magnitude, offset, magnitude.length - offset);
+    }
+
+    // tag 4: [exponent, mantissa], so decimal values survive exactly
+    private void writeDecimal(BigDecimal value) throws IOException {
+        writeHead(TAG, 4);
+        out.write(0x82);
+        writeLong(-value.scale());
+        writeBigInteger(value.unscaledValue());
+    }
+
+    private void writeHead(int majorType, long value) throws IOException {
+        int major = majorType << 5;
+        if (value < 24) {
+            out.write(major | (int) value);
+        } else if (value <= 0xFF) {
+            out.write(major | 24);
+            out.write((int) value);
+        } else if (value <= 0xFFFF) {
+            out.write(major | 25);
+            out.write((int) (value >>> 8));
+            out.write((int) value);
+        } else if (value <= 0xFFFFFFFFL) {
+            out.write(major | 26);
+            writeInt((int) value);
+        } else {
+            out.write(major | 27);
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,140 @@
+package com.thughari.jobtrackerpro.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Square avatar thumbnails. The image is center-cropped and, for large sources, subsampled while it is
+ * decoded, so a multi-megapixel photo is never fully materialised; each size is then scaled down from
+ * the next larger one. Opaque images are written as JPEG and images with transparency as PNG, the
+ * formats the JDK can encode.
+ */
+public final class ImageThumbnails {
+
+    /** Edge lengths in pixels, largest first. */
+    public static final List<Integer> SIZES = List.of(256, 128, 64);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageThumbnails() {
+    }
+
+    public record Thumbnails(String extension, String contentType, Map<Integer, byte[]> images) {
+    }
+
+    public static class TooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public TooLargeException(int width, int height) {
+            super("Image is " + width + "x" + height + " pixels");
+        }
+    }
+
+    /**
+     * Returns {@code null} when no installed reader understands the format (e.g. WebP), and throws
+     * {@link TooLargeException} before decoding anything whose dimensions exceed {@code maxPixels}.
+     */
+    public static Thumbnails create(byte[] image, long maxPixels) throws IOException {
+        BufferedImage source = decodeSquare(image, SIZES.get(0), maxPixels);
+        if (source == null) {
+            return null;
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        Map<Integer, byte[]> images = new LinkedHashMap<>();
+        BufferedImage current = source;
+        for (int size : SIZES) {
+            current = scale(current, size, alpha);
+            images.put(size, alpha ? writePng(current) : writeJpeg(current));
+        }
+        return alpha
+                ? new Thumbnails(".png", "image/png", images)
+                : new Thumbnails(".jpg", "image/jpeg", images);
+    }
+
+    private static BufferedImage decodeSquare(byte[] image, int targetSize, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new TooLargeException(width, height);
+                }
+                int side = Math.min(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                // keep at least twice the largest thumbnail so the final scaling still has detail to work with
+                int step = Math.max(1, side / (targetSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // halves repeatedly rather than jumping straight to the target: a single bilinear pass over a
+    // large reduction skips most source pixels and aliases badly
+    static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        do {
+            width = Math.max(size, width / 2);
+            BufferedImage next = new BufferedImage(width, width, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, width, width, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > size);
+        return current;
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
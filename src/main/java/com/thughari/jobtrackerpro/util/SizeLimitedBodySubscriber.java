@@ -0,0 +1,100 @@
+package com.thughari.jobtrackerpro.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Collects a {@code java.net.http} response body into memory and fails, cancelling the download, as soon
+ * as more than {@code maxBytes} have arrived, whether or not the server declared a length.
+ */
+public class SizeLimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final long maxBytes;
+    private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private volatile Flow.Subscription subscription;
+    private long received;
+
+    public SizeLimitedBodySubscriber(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * A body that is not read at all: the download is cancelled on arrival and the response fails with
+     * {@code cause}. For responses whose status or headers already rule them out.
+     */
+    public static SizeLimitedBodySubscriber rejecting(Throwable cause) {
+        SizeLimitedBodySubscriber subscriber = new SizeLimitedBodySubscriber(0);
+        subscriber.abort(cause);
+        return subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (body.isDone()) {
+            subscription.cancel();
+        } else {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (body.isDone()) {
+            return;
+        }
+        for (ByteBuffer buffer : buffers) {
+            received += buffer.remaining();
+            if (received > maxBytes) {
+                abort(new LimitExceededException(maxBytes));
+                return;
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.writeBytes(bytes);
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        body.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        body.complete(out.toByteArray());
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+        return body;
+    }
+
+    /**
+     * Stops the transfer, e.g. on a deadline; the body completes with {@code cause}.
+     */
+    public void abort(Throwable cause) {
+        if (body.completeExceptionally(cause)) {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    public static class LimitExceededException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public LimitExceededException(long maxBytes) {
+            super("Body exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.thughari.jobtrackerpro.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheManagerTests {
+
+	private InMemoryCacheInvalidationBus bus;
+	private InMemorySharedCacheStore shared;
+
+	@BeforeEach
+	void setUp() {
+		bus = new InMemoryCacheInvalidationBus();
+		shared = new InMemorySharedCacheStore();
+	}
+
+	@Test
+	void evictionOnOneInstanceDropsOtherInstancesL1() {
+		Cache first = newManager(null).getCache("jobData");
+		Cache second = newManager(null).getCache("jobData");
+
+		first.put("a@x.io", "v1");
+		second.put("a@x.io", "v1");
+
+		first.evict("a@x.io");
+
+		assertThat(first.get("a@x.io")).isNull();
+		assertThat(second.get("a@x.io")).isNull();
+	}
+
+	@Test
+	void l1MissIsServedFromSharedStore() {
+		Cache first = newManager(shared).getCache("jobData");
+		Cache second = newManager(shared).getCache("jobData");
+
+		first.put("a@x.io", "v1");
+
+		assertThat(second.get("a@x.io")).isNotNull();
+		assertThat(second.get("a@x.io").get()).isEqualTo("v1");
+		assertThat(((TwoTierCache) second).sharedHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void l1IsBoundedByWeight() {
+		TwoTierCacheManager manager = new TwoTierCacheManager(bus, null, Duration.ofMinutes(1), Caffeine::newBuilder)
+				.withCache("jobData", Caffeine.newBuilder()
+						.maximumWeight(10)
+						.weigher((Object key, Object value) -> 4)
+						.executor(Runnable::run)
+						.recordStats());
+		manager.setTransactionAware(false);
+		manager.afterPropertiesSet();
+		TwoTierCache cache = (TwoTierCache) manager.getCache("jobData");
+
+		for (int i = 0; i < 10; i++) {
+			cache.put("user" + i, "v");
+		}
+		cache.getNativeCache().cleanUp();
+
+		assertThat(cache.getNativeCache().estimatedSize()).isLessThanOrEqualTo(2);
+	}
+
+	private TwoTierCacheManager newManager(SharedCacheStore sharedStore) {
+		TwoTierCacheManager manager = new TwoTierCacheManager(bus, sharedStore, Duration.ofMinutes(1),
+				() -> Caffeine.newBuilder().maximumSize(100).recordStats());
+		manager.setTransactionAware(false);
+		manager.afterPropertiesSet();
+		return manager;
+	}
+}
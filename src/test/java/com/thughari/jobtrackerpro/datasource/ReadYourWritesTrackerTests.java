@@ -0,0 +1,62 @@
+package com.thughari.jobtrackerpro.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTrackerTests {
+
+	private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 100);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void pinsTheUserAfterACommittedWrite() {
+		signIn("a@x.io");
+		assertThat(tracker.isCurrentUserPinned()).isFalse();
+
+		tracker.afterCommit(transaction(false), null);
+
+		assertThat(tracker.isCurrentUserPinned()).isTrue();
+		signIn("b@x.io");
+		assertThat(tracker.isCurrentUserPinned()).isFalse();
+	}
+
+	@Test
+	void readOnlyAndFailedCommitsPinNobody() {
+		signIn("a@x.io");
+
+		tracker.afterCommit(transaction(true), null);
+		tracker.afterCommit(transaction(false), new IllegalStateException("commit failed"));
+
+		assertThat(tracker.isCurrentUserPinned()).isFalse();
+	}
+
+	@Test
+	void pinsFromOtherInstancesApplyToTheirUser() {
+		tracker.pin("a@x.io");
+
+		assertThat(tracker.isCurrentUserPinned()).isFalse();
+		signIn("a@x.io");
+		assertThat(tracker.isCurrentUserPinned()).isTrue();
+	}
+
+	private static void signIn(String email) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+	}
+
+	private static DefaultTransactionStatus transaction(boolean readOnly) {
+		return new DefaultTransactionStatus("tx", new Object(), true, true, false, readOnly, false, null);
+	}
+}
@@ -0,0 +1,32 @@
+package com.thughari.jobtrackerpro.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JobCursorTests {
+
+	@Test
+	void roundTripsADatedPosition() {
+		JobCursor cursor = new JobCursor(LocalDate.of(2026, 3, 1), UUID.randomUUID());
+
+		assertThat(JobCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void roundTripsAJobWithoutADate() {
+		JobCursor cursor = new JobCursor(null, UUID.randomUUID());
+
+		assertThat(JobCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode("not a cursor"));
+		assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode("MjAyNi0wMy0wMXxub3QtYS11dWlk"));
+	}
+}
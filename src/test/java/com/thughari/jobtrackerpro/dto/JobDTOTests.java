@@ -0,0 +1,22 @@
+package com.thughari.jobtrackerpro.dto;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobDTOTests {
+
+	private final JsonMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+	@Test
+	void requestBodiesBindTheStatusLabel() {
+		JobDTO job = mapper.readValue("{\"company\":\"Acme\",\"status\":\"Interview Scheduled\",\"date\":\"2026-10-01\"}",
+				JobDTO.class);
+
+		assertThat(job.getCompany()).isEqualTo("Acme");
+		assertThat(job.getStatus()).isEqualTo("Interview Scheduled");
+		assertThat(job.getDate()).hasToString("2026-10-01");
+	}
+}
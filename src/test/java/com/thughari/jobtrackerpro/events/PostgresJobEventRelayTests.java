@@ -0,0 +1,53 @@
+package com.thughari.jobtrackerpro.events;
+
+import com.thughari.jobtrackerpro.dto.DashboardStatsDTO;
+import com.thughari.jobtrackerpro.dto.JobDTO;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresJobEventRelayTests {
+
+	private final PostgresJobEventRelay relay = new PostgresJobEventRelay(null,
+			JsonMapper.builder().findAndAddModules().build(), "jdbc:postgresql://localhost/test", "test", "test");
+
+	private final DashboardStatsDTO stats = new DashboardStatsDTO(3, 2, 1, 0);
+
+	@Test
+	void carriesTheEmailAlongsideTheEvent() {
+		JobDTO job = new JobDTO();
+		job.setId(UUID.randomUUID());
+		job.setCompany("Acme");
+		job.setStatus("Interview");
+		job.setDate(LocalDate.of(2026, 3, 1));
+
+		JobChangeEvent decoded = relay.decode(relay.encode(JobChangeEvent.updated("a@x.io", 7, job, stats)));
+
+		assertThat(decoded.email()).isEqualTo("a@x.io");
+		assertThat(decoded.type()).isEqualTo(JobChangeEvent.UPDATED);
+		assertThat(decoded.version()).isEqualTo(7);
+		assertThat(decoded.job()).isEqualTo(job);
+		assertThat(decoded.stats()).isEqualTo(stats);
+	}
+
+	@Test
+	void sendsJobsTooLargeForNotifyAsAChange() {
+		JobDTO job = new JobDTO();
+		job.setNotes("é".repeat(4096));
+
+		String payload = relay.encode(JobChangeEvent.created("a@x.io", 8, job, stats));
+		JobChangeEvent decoded = relay.decode(payload);
+
+		assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(PostgresJobEventRelay.MAX_PAYLOAD_BYTES);
+		assertThat(decoded.type()).isEqualTo(JobChangeEvent.CHANGED);
+		assertThat(decoded.job()).isNull();
+		assertThat(decoded.version()).isEqualTo(8);
+		assertThat(decoded.stats()).isEqualTo(stats);
+	}
+}
@@ -0,0 +1,48 @@
+package com.thughari.jobtrackerpro.metrics;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thughari.jobtrackerpro.cache.InMemoryCacheInvalidationBus;
+import com.thughari.jobtrackerpro.cache.InMemorySharedCacheStore;
+import com.thughari.jobtrackerpro.cache.TwoTierCache;
+import com.thughari.jobtrackerpro.cache.TwoTierCacheManager;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheMeterBinderProviderTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void readsL1StatisticsAndL2HitsAtScrapeTime() {
+		InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+		InMemorySharedCacheStore shared = new InMemorySharedCacheStore();
+		TwoTierCache first = newCache(bus, shared);
+		TwoTierCache second = newCache(bus, shared);
+		new TwoTierCacheMeterBinderProvider().getMeterBinder(second, Tags.empty()).bindTo(registry);
+
+		first.put("a@x.io", "v1");
+		second.get("a@x.io");
+		second.get("a@x.io");
+		second.get("b@x.io");
+
+		assertThat(registry.get("cache.gets").tags("cache", "jobData", "result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.gets").tags("cache", "jobData", "result", "miss").functionCounter().count()).isEqualTo(2);
+		assertThat(registry.get("cache.l2.hits").tag("cache", "jobData").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.size").tag("cache", "jobData").gauge().value()).isEqualTo(1);
+	}
+
+	private static TwoTierCache newCache(InMemoryCacheInvalidationBus bus, InMemorySharedCacheStore shared) {
+		TwoTierCacheManager manager = new TwoTierCacheManager(bus, shared, Duration.ofMinutes(1),
+				() -> Caffeine.newBuilder().maximumSize(100).recordStats());
+		manager.setTransactionAware(false);
+		manager.afterPropertiesSet();
+		return (TwoTierCache) manager.getCache("jobData");
+	}
+}
@@ -0,0 +1,57 @@
+package com.thughari.jobtrackerpro.search;
+
+import com.thughari.jobtrackerpro.entity.Job;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvertedIndexTests {
+
+	private final Job acme = job("Acme Corp", "Backend Engineer", "Berlin", null, 3);
+	private final Job globex = job("Globex", "Frontend Developer", "Remote", "Referred by someone at Acme", 2);
+	private final Job initech = job("Initech", "Backend Developer", "Berlin", null, 1);
+
+	private final InvertedIndex index = InvertedIndex.build(List.of(acme, globex, initech));
+
+	@Test
+	void ranksCompanyAndRoleAboveNotes() {
+		assertThat(index.search(SearchQuery.parse("acme"), 10)).containsExactly(acme.getId(), globex.getId());
+	}
+
+	@Test
+	void matchesPrefixesAndRequiresEveryTerm() {
+		assertThat(index.search(SearchQuery.parse("back berl"), 10)).containsExactly(initech.getId(), acme.getId());
+		assertThat(index.search(SearchQuery.parse("DEV"), 10)).containsExactly(initech.getId(), globex.getId());
+		assertThat(index.search(SearchQuery.parse("backend remote"), 10)).isEmpty();
+	}
+
+	@Test
+	void prefersExactMatchesAndHonoursLimit() {
+		Job exact = job("Dev", null, null, null, 0);
+		InvertedIndex withExact = InvertedIndex.build(List.of(globex, exact));
+
+		assertThat(withExact.search(SearchQuery.parse("dev"), 1)).containsExactly(exact.getId());
+	}
+
+	@Test
+	void rejectsQueriesWithoutTerms() {
+		assertThatThrownBy(() -> SearchQuery.parse(" -- ")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(SearchQuery.parse("C++ & c#").toTsQuery()).isEqualTo("c:*");
+	}
+
+	private static Job job(String company, String role, String location, String notes, int daysAgo) {
+		Job job = new Job();
+		job.setId(UUID.randomUUID());
+		job.setCompany(company);
+		job.setRole(role);
+		job.setLocation(location);
+		job.setNotes(notes);
+		job.setDate(LocalDate.now().minusDays(daysAgo));
+		return job;
+	}
+}
@@ -0,0 +1,88 @@
+package com.thughari.jobtrackerpro.search;
+
+import com.thughari.jobtrackerpro.entity.Job;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same queries against both engines. Needs a scratch Postgres database, e.g.
+ * {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres&password=postgres}.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class JobSearchEnginesTests {
+
+	private static final String EMAIL = "search@x.io";
+	private static final String SCHEMA = "search_test_" + Long.toHexString(System.nanoTime());
+
+	private static final List<Job> JOBS = List.of(
+			job("Acme", "Node.js Developer", "Berlin", "Contact bob@acme.com"),
+			job("Globex", "Backend Engineer", "Remote", "Re-write of the v2.0 API, see acme.com/jobs"),
+			job("Initech", "C++/Go Developer", "Austin", "foo_bar team"),
+			job("Hooli", "Data Engineer", "Palo Alto", null));
+
+	private static SingleConnectionDataSource dataSource;
+	private static PostgresJobSearchIndex postgres;
+	private static InvertedIndex memory;
+
+	@BeforeAll
+	static void createJobs() {
+		dataSource = new SingleConnectionDataSource(System.getenv("TEST_POSTGRES_URL"), true);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+		jdbcTemplate.execute("SET search_path TO " + SCHEMA);
+		jdbcTemplate.execute("CREATE TABLE users (id uuid PRIMARY KEY, email text)");
+		jdbcTemplate.execute("""
+				CREATE TABLE jobs (id uuid PRIMARY KEY, user_id uuid, company text, role text, location text,
+				    notes text, date date)
+				""");
+		UUID userId = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO users (id, email) VALUES (?, ?)", userId, EMAIL);
+		for (Job job : JOBS) {
+			jdbcTemplate.update("INSERT INTO jobs VALUES (?, ?, ?, ?, ?, ?, ?)", job.getId(), userId, job.getCompany(),
+					job.getRole(), job.getLocation(), job.getNotes(), job.getDate());
+		}
+		postgres = new PostgresJobSearchIndex(jdbcTemplate);
+		postgres.run(null);
+		memory = InvertedIndex.build(JOBS);
+	}
+
+	@AfterAll
+	static void dropJobs() {
+		if (dataSource != null) {
+			new JdbcTemplate(dataSource).execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+			dataSource.destroy();
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "node.js", "js", "node", "acme.com", "bob@acme.com", "acme com", "re-write", "write",
+			"v2.0", "c++/go", "go", "foo_bar", "bar", "palo-alto", "eng", "no.such" })
+	void enginesAgree(String text) {
+		SearchQuery query = SearchQuery.parse(text);
+
+		assertThat(postgres.search(EMAIL, query, 10)).containsExactlyInAnyOrderElementsOf(memory.search(query, 10));
+	}
+
+	private static Job job(String company, String role, String location, String notes) {
+		Job job = new Job();
+		job.setId(UUID.randomUUID());
+		job.setCompany(company);
+		job.setRole(role);
+		job.setLocation(location);
+		job.setNotes(notes);
+		job.setDate(LocalDate.of(2026, 1, 1));
+		return job;
+	}
+}
@@ -0,0 +1,92 @@
+package com.thughari.jobtrackerpro.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTests {
+
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void hashesOnThePoolAndFlagsWeakerHashesForUpgrade() {
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor, Duration.ofSeconds(5));
+		String weak = new BCryptPasswordEncoder(4).encode("secret1");
+
+		String hash = encoder.encode("secret1");
+
+		assertThat(encoder.matches("secret1", hash)).isTrue();
+		assertThat(encoder.matches("wrong", hash)).isFalse();
+		assertThat(encoder.matches("secret1", weak)).isTrue();
+		assertThat(encoder.upgradeEncoding(weak)).isTrue();
+		assertThat(encoder.upgradeEncoding(hash)).isFalse();
+		assertThat(encoder.getEncodeCount()).isEqualTo(1);
+		assertThat(encoder.getMatchCount()).isEqualTo(3);
+	}
+
+	@Test
+	void rejectsWorkBeyondTheQueueAndTimesOutQueuedWork() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release), executor, Duration.ofMillis(200));
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		waitUntil(() -> executor.getActiveCount() == 1);
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+		waitUntil(() -> executor.getQueue().size() == 1);
+
+		assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(RejectedExecutionException.class);
+		// both callers give up after the timeout; the queued hash is dropped without running
+		assertThat(queued).failsWithin(Duration.ofSeconds(5)).withThrowableThat().withCauseInstanceOf(RejectedExecutionException.class);
+		assertThat(running).failsWithin(Duration.ofSeconds(5)).withThrowableThat().withCauseInstanceOf(RejectedExecutionException.class);
+		release.countDown();
+		waitUntil(() -> encoder.getEncodeCount() == 1);
+		assertThat(executor.getQueue()).isEmpty();
+		assertThat(encoder.getRejectedCount()).isEqualTo(1);
+		assertThat(encoder.getTimedOutCount()).isEqualTo(2);
+		assertThat(encoder.getEncodeCount()).isEqualTo(1);
+	}
+
+	private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return rawPassword.toString().equals(encodedPassword);
+			}
+		};
+	}
+
+	private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.thughari.jobtrackerpro.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 100);
+
+	@Test
+	void verifiesTokenAndServesRepeatsFromCache() {
+		String token = jwtUtils.generateToken("a@x.io");
+
+		assertThat(jwtUtils.getVerifiedEmail(token)).isEqualTo("a@x.io");
+		assertThat(jwtUtils.getVerifiedEmail(token)).isEqualTo("a@x.io");
+		assertThat(jwtUtils.validateToken(token)).isTrue();
+	}
+
+	@Test
+	void rejectsTamperedForeignAndExpiredTokens() {
+		String token = jwtUtils.generateToken("a@x.io");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+		String foreign = Jwts.builder().setSubject("a@x.io")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another-secret!!".getBytes()),
+						SignatureAlgorithm.HS256)
+				.compact();
+		String expired = new JwtUtils(SECRET, -1_000, 100).generateToken("a@x.io");
+
+		assertThat(jwtUtils.getVerifiedEmail(tampered)).isNull();
+		assertThat(jwtUtils.getVerifiedEmail(foreign)).isNull();
+		assertThat(jwtUtils.getVerifiedEmail(expired)).isNull();
+		assertThat(jwtUtils.getVerifiedEmail("not-a-jwt")).isNull();
+		assertThat(jwtUtils.getVerifiedEmail(null)).isNull();
+	}
+}
@@ -0,0 +1,44 @@
+package com.thughari.jobtrackerpro.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	@Test
+	void allowsABurstUpToCapacityThenReportsTheWait() {
+		RateLimiter limiter = new RateLimiter(5, Duration.ofMinutes(1), 100);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+		}
+
+		long wait = limiter.tryAcquire("1.2.3.4");
+		assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(12).toNanos());
+	}
+
+	@Test
+	void keysHaveIndependentBuckets() {
+		RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+
+		assertThat(limiter.tryAcquire("a@x.io")).isZero();
+		assertThat(limiter.tryAcquire("a@x.io")).isPositive();
+		assertThat(limiter.tryAcquire("b@x.io")).isZero();
+		assertThat(limiter.size()).isEqualTo(2);
+	}
+
+	@Test
+	void refillsOverThePeriod() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(2, Duration.ofMillis(200), 100);
+
+		assertThat(limiter.tryAcquire("k")).isZero();
+		assertThat(limiter.tryAcquire("k")).isZero();
+		assertThat(limiter.tryAcquire("k")).isPositive();
+
+		Thread.sleep(120);
+		assertThat(limiter.tryAcquire("k")).isZero();
+	}
+}
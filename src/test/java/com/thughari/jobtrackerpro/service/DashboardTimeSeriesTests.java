@@ -0,0 +1,63 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.dto.ChartData;
+import com.thughari.jobtrackerpro.dto.DashboardGranularity;
+import com.thughari.jobtrackerpro.dto.DateBucketCount;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardTimeSeriesTests {
+
+	@Test
+	void movesEarlyJanuaryDaysIntoTheLastWeekOfThePreviousYear() {
+		// 2020 has an ISO week 53, which runs Mon 2020-12-28 to Sun 2021-01-03
+		List<ChartData> chart = weeks("2020-12-31", "2021-01-01", "2021-01-03", "2021-01-04");
+
+		assertThat(chart).containsExactly(new ChartData("W53 20", 3), new ChartData("W01 21", 1));
+	}
+
+	@Test
+	void movesLateDecemberDaysIntoTheFirstWeekOfTheNextYear() {
+		// ISO week 1 of 2025 starts on Mon 2024-12-30
+		List<ChartData> chart = weeks("2024-12-29", "2024-12-30", "2024-12-31", "2025-01-02");
+
+		assertThat(chart).containsExactly(new ChartData("W52 24", 1), new ChartData("W01 25", 3));
+	}
+
+	@Test
+	void keepsWeek52OfThePreviousYearApartFromWeek52OfTheCurrentOne() {
+		// Sat 2022-01-01 is in week 52 of 2021
+		List<ChartData> chart = weeks("2021-12-31", "2022-01-01", "2022-12-31");
+
+		assertThat(chart).containsExactly(new ChartData("W52 21", 2), new ChartData("W52 22", 1));
+	}
+
+	@Test
+	void groupsMonthsIntoQuartersAtTheirBoundaries() {
+		List<ChartData> chart = DashboardService.toTimeSeries(buckets("2024-01-01", "2024-03-31", "2024-04-01",
+				"2024-06-30", "2024-09-30", "2024-10-01", "2024-12-31", "2025-01-01"), DashboardGranularity.QUARTER);
+
+		assertThat(chart).containsExactly(new ChartData("Q1 24", 2), new ChartData("Q2 24", 2),
+				new ChartData("Q3 24", 1), new ChartData("Q4 24", 2), new ChartData("Q1 25", 1));
+	}
+
+	private static List<ChartData> weeks(String... dates) {
+		return DashboardService.toTimeSeries(buckets(dates), DashboardGranularity.WEEK);
+	}
+
+	// one bucket per date, with the calendar year and month and the ISO week, as countByWeekInRange returns them
+	private static List<DateBucketCount> buckets(String... dates) {
+		return Stream.of(dates)
+				.map(LocalDate::parse)
+				.map(date -> new DateBucketCount(date.getYear(), date.getMonthValue(),
+						date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), 1L))
+				.toList();
+	}
+}
@@ -0,0 +1,75 @@
+package com.thughari.jobtrackerpro.service;
+
+import com.thughari.jobtrackerpro.entity.EmailOutboxMessage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailOutboxTests {
+
+	private FakeSmtpServer smtp;
+	private EmailService emailService;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		smtp = new FakeSmtpServer();
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(smtp.getPort());
+		emailService = new EmailService(mailSender, null);
+		ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.com");
+		ReflectionTestUtils.setField(emailService, "fromName", "JobTrackPro");
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		smtp.close();
+	}
+
+	@Test
+	void sendsBatchOverOneConnectionAndReportsRejectedRecipients() {
+		List<EmailOutboxMessage> batch = List.of(
+				message(1L, "a@example.com"), message(2L, "reject@example.com"), message(3L, "b@example.com"));
+
+		Map<Long, Exception> failures = emailService.deliver(batch);
+
+		assertThat(smtp.getConnections()).isEqualTo(1);
+		assertThat(smtp.getDelivered()).containsExactly("a@example.com", "b@example.com");
+		assertThat(failures).containsOnlyKeys(2L);
+	}
+
+	@Test
+	void reportsEveryMessageWhenServerIsDown() throws IOException {
+		smtp.close();
+
+		Map<Long, Exception> failures = emailService.deliver(List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+
+		assertThat(failures).containsOnlyKeys(1L, 2L);
+	}
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		Duration initial = Duration.ofSeconds(30);
+		Duration max = Duration.ofMinutes(10);
+
+		assertThat(EmailOutboxWorker.backoff(1, initial, max)).isBetween(initial, initial.multipliedBy(12).dividedBy(10));
+		assertThat(EmailOutboxWorker.backoff(3, initial, max)).isBetween(initial.multipliedBy(4), initial.multipliedBy(48).dividedBy(10));
+		assertThat(EmailOutboxWorker.backoff(40, initial, max)).isBetween(max, max.multipliedBy(12).dividedBy(10));
+	}
+
+	private static EmailOutboxMessage message(long id, String recipient) {
+		EmailOutboxMessage message = new EmailOutboxMessage(recipient, "Subject", "<p>Hello</p>");
+		message.setId(id);
+		return message;
+	}
+}
@@ -0,0 +1,102 @@
+package com.thughari.jobtrackerpro.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Just enough SMTP to stand in for a mail server in tests: counts connections, records accepted
+ * recipients and answers 550 for any recipient containing {@code "reject"}.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final AtomicInteger connections = new AtomicInteger();
+	private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+	FakeSmtpServer() throws IOException {
+		serverSocket = new ServerSocket(0);
+		Thread.ofVirtual().start(this::accept);
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	int getConnections() {
+		return connections.get();
+	}
+
+	List<String> getDelivered() {
+		return delivered;
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.incrementAndGet();
+				Thread.ofVirtual().start(() -> serve(socket));
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+			reply(out, "220 fake ESMTP");
+			List<String> recipients = new CopyOnWriteArrayList<>();
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase();
+				if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+					reply(out, "250 fake");
+				} else if (command.startsWith("MAIL FROM")) {
+					recipients.clear();
+					reply(out, "250 OK");
+				} else if (command.startsWith("RCPT TO")) {
+					if (line.contains("reject")) {
+						reply(out, "550 No such user");
+					} else {
+						recipients.add(line.substring(line.indexOf('<') + 1, line.indexOf('>')));
+						reply(out, "250 OK");
+					}
+				} else if (command.equals("DATA")) {
+					reply(out, "354 End data with <CR><LF>.<CR><LF>");
+					while (!".".equals(in.readLine())) {
+						// message body is not inspected
+					}
+					delivered.addAll(recipients);
+					reply(out, "250 Queued");
+				} else if (command.equals("QUIT")) {
+					reply(out, "221 Bye");
+					return;
+				} else {
+					reply(out, "250 OK");
+				}
+			}
+		} catch (IOException e) {
+			// client went away
+		}
+	}
+
+	private static void reply(PrintWriter out, String line) {
+		out.print(line + "\r\n");
+		out.flush();
+	}
+}
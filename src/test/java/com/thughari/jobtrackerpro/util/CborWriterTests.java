@@ -0,0 +1,49 @@
+package com.thughari.jobtrackerpro.util;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// expected encodings from RFC 8949 appendix A, with indefinite-length containers
+class CborWriterTests {
+
+	private final JsonMapper jsonMapper = new JsonMapper();
+
+	@Test
+	void encodesIntegersInShortestForm() throws IOException {
+		assertThat(cbor("0")).isEqualTo("00");
+		assertThat(cbor("23")).isEqualTo("17");
+		assertThat(cbor("24")).isEqualTo("1818");
+		assertThat(cbor("1000000")).isEqualTo("1a000f4240");
+		assertThat(cbor("1000000000000")).isEqualTo("1b000000e8d4a51000");
+		assertThat(cbor("-1000")).isEqualTo("3903e7");
+		assertThat(cbor("18446744073709551616")).isEqualTo("c249010000000000000000");
+	}
+
+	@Test
+	void keepsFloatsExact() throws IOException {
+		assertThat(cbor("1.5")).isEqualTo("fa3fc00000");
+		assertThat(cbor("1.1")).isEqualTo("fb3ff199999999999a");
+	}
+
+	@Test
+	void encodesTextAndContainers() throws IOException {
+		assertThat(cbor("\"\\u00fc\"")).isEqualTo("62c3bc");
+		assertThat(cbor("[1,[2,3]]")).isEqualTo("9f019f0203ffff");
+		assertThat(cbor("{\"a\":1,\"b\":[true,false,null]}")).isEqualTo("bf61610161629ff5f4f6ffff");
+	}
+
+	private String cbor(String json) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonParser parser = jsonMapper.createParser(json)) {
+			new CborWriter(out).writeTokens(parser);
+		}
+		return HexFormat.of().formatHex(out.toByteArray());
+	}
+}
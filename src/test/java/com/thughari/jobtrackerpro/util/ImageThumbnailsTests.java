@@ -0,0 +1,50 @@
+package com.thughari.jobtrackerpro.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageThumbnailsTests {
+
+	@Test
+	void cropsOpaqueImageToSquareJpegs() throws IOException {
+		ImageThumbnails.Thumbnails thumbnails = ImageThumbnails.create(encode(1600, 900, BufferedImage.TYPE_INT_RGB, "jpeg"), 40_000_000);
+
+		assertThat(thumbnails.contentType()).isEqualTo("image/jpeg");
+		assertThat(thumbnails.images()).containsOnlyKeys(ImageThumbnails.SIZES.toArray(Integer[]::new));
+		for (Integer size : ImageThumbnails.SIZES) {
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnails.images().get(size)));
+			assertThat(image.getWidth()).isEqualTo(size);
+			assertThat(image.getHeight()).isEqualTo(size);
+		}
+	}
+
+	@Test
+	void keepsTransparencyAsPng() throws IOException {
+		ImageThumbnails.Thumbnails thumbnails = ImageThumbnails.create(encode(100, 300, BufferedImage.TYPE_INT_ARGB, "png"), 40_000_000);
+
+		assertThat(thumbnails.contentType()).isEqualTo("image/png");
+		assertThat(ImageIO.read(new ByteArrayInputStream(thumbnails.images().get(64))).getColorModel().hasAlpha()).isTrue();
+	}
+
+	@Test
+	void rejectsOversizedAndSkipsUnknownFormats() throws IOException {
+		byte[] large = encode(2000, 2000, BufferedImage.TYPE_INT_RGB, "png");
+
+		assertThatThrownBy(() -> ImageThumbnails.create(large, 1_000_000)).isInstanceOf(ImageThumbnails.TooLargeException.class);
+		assertThat(ImageThumbnails.create("RIFF....WEBPVP8 ".getBytes(), 40_000_000)).isNull();
+	}
+
+	private static byte[] encode(int width, int height, int type, String format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, type), format, out);
+		return out.toByteArray();
+	}
+}